@@ -8,6 +8,7 @@ function CreateRequestPage({user}) {
     const [useExistingPet, setUseExistingPet] = useState(false);
     const [imageFile, setImageFile] = useState(null);
     const [imagePreview, setImagePreview] = useState(null);
+    const [coordinates, setCoordinates] = useState(null);
 
     const [formData, setFormData] = useState({
         description: '',
@@ -125,6 +126,20 @@ function CreateRequestPage({user}) {
         }));
     };
 
+    const handleUseMyLocation = () => {
+        if(!navigator.geolocation){
+            setError('Location is not supported by this browser');
+            return;
+        }
+        navigator.geolocation.getCurrentPosition(
+            (position) => setCoordinates({
+                latitude: position.coords.latitude,
+                longitude: position.coords.longitude
+            }),
+            () => setError('Could not get your current location')
+        );
+    };
+
     const calculatePoints = () => {
         if(formData.startTime && formData.endTime) {
             const start = new Date(formData.startTime);
@@ -167,6 +182,8 @@ function CreateRequestPage({user}) {
             const requestData = {
                 description: useExistingPet ? (formData.description || `Dog-sitting request for ${formData.petName}`) : formData.description,
                 location: formData.location,
+                latitude: coordinates ? coordinates.latitude : null,
+                longitude: coordinates ? coordinates.longitude : null,
                 startTime: formData.startTime,
                 endTime: formData.endTime,
                 petName: formData.petName,
@@ -176,7 +193,7 @@ function CreateRequestPage({user}) {
                 petDescription: formData.petDescription,
                 petSpecialNeeds: formData.petSpecialNeeds,
                 petEnergyLevel: formData.petEnergyLevel,
-                pet: selectedPetId ? { id: selectedPetId } : null
+                petId: selectedPetId || null
             };
 
             const response = await apiCall('/dogsits', {
@@ -527,6 +544,21 @@ function CreateRequestPage({user}) {
                                     boxSizing: 'border-box'
                                 }}
                             />
+                            <button
+                                type='button'
+                                onClick={handleUseMyLocation}
+                                style={{
+                                    marginTop: '8px',
+                                    padding: '8px 16px',
+                                    borderRadius: '8px',
+                                    border: '2px solid #e8f5e9',
+                                    backgroundColor: 'white',
+                                    color: '#2e7d32',
+                                    cursor: 'pointer'
+                                }}
+                            >
+                                {coordinates ? 'Location pinned' : 'Use my current location'}
+                            </button>
                         </div>
 
                         <div style={{display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '20px', marginBottom: '20px'}}>
@@ -21,8 +21,18 @@ function DashboardPage({user}){
             const petsData = await apiCall(`/users/${user.id}/pets`);
             setPets(petsData);
 
-            const allRequests = await apiCall('/dogsits/status/PENDING');
-            const userRequests = allRequests.filter(req => req.owner.id === user.id);
+            // Search is paged; follow nextCursor so the dashboard counts every pending request, not just the first page.
+            const userRequests = [];
+            let cursor = null;
+            do {
+                const params = new URLSearchParams({status: 'PENDING', ownerId: user.id, limit: 100});
+                if(cursor){
+                    params.set('cursor', cursor);
+                }
+                const page = await apiCall(`/dogsits/search?${params.toString()}`);
+                userRequests.push(...page.items);
+                cursor = page.nextCursor;
+            } while(cursor);
             setMyRequests(userRequests);
 
             setAcceptedRequests([]);
@@ -741,7 +751,7 @@ function DashboardPage({user}){
                                     {pet.imageUrl && (
                                         <div style={{marginBottom: '15px'}}>
                                             <img
-                                                src={`http://localhost:8080${pet.imageUrl}`}
+                                                src={`http://localhost:8080${pet.thumbnailUrl || pet.imageUrl}`}
                                                 alt={pet.name}
                                                 style={{
                                                     width: '80px',
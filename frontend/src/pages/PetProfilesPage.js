@@ -85,13 +85,10 @@ function PetProfilesPage({user}) {
             }
 
             if(imageFile && petResponse.id){
-                const imageFormData = new FormData();
-                imageFormData.append('image', imageFile);
-
                 await apiCall(`/pets/${petResponse.id}/image`, {
                     method: 'POST',
-                    body: imageFormData,
-                    headers: {}
+                    body: imageFile,
+                    headers: {'Content-Type': imageFile.type || 'application/octet-stream'}
                 });
             }
 
@@ -820,7 +817,7 @@ function PetProfilesPage({user}) {
                                             marginBottom: '20px'
                                         }}>
                                             <img
-                                                src={`http://localhost:8080${pet.imageUrl}`}
+                                                src={`http://localhost:8080${pet.cardImageUrl || pet.imageUrl}`}
                                                 alt={pet.name}
                                                 style={{
                                                     width: '150px',
@@ -7,15 +7,52 @@ function RequestsPage({user}) {
     const [error, setError] = useState(null);
     const [filter, setFilter] = useState('all');
     const [sortBy, setSortBy] = useState('date');
+    const [nextCursor, setNextCursor] = useState(null);
 
     useEffect(() => {
         fetchRequests();
-    }, []);
+    }, [filter]);
+
+    useEffect(() => {
+        const source = new EventSource('http://localhost:8080/dogsits/stream');
+
+        source.addEventListener('CREATED', (e) => {
+            const event = JSON.parse(e.data);
+            const request = event.request;
+            if (filter === 'mine' && event.ownerId !== user.id) return;
+            if (filter === 'others' && event.ownerId === user.id) return;
+            setRequests(prev => {
+                if (prev.some(r => r.id === request.id)) return prev;
+                const last = prev[prev.length - 1];
+                if (nextCursor && last && new Date(request.startTime) > new Date(last.startTime)) return prev;
+                return [...prev, request].sort((a, b) => new Date(a.startTime) - new Date(b.startTime) || a.id - b.id);
+            });
+        });
+
+        const removeRequest = (e) => {
+            const event = JSON.parse(e.data);
+            setRequests(prev => prev.filter(r => r.id !== event.requestId));
+        };
+        source.addEventListener('ACCEPTED', removeRequest);
+        source.addEventListener('COMPLETED', removeRequest);
+        source.addEventListener('RESYNC', () => fetchRequests());
+
+        return () => source.close();
+    }, [filter, nextCursor]);
+
+    const buildSearchUrl = (cursor) => {
+        const params = new URLSearchParams({status: 'PENDING', sort: 'startTime'});
+        if (filter === 'mine') params.set('ownerId', user.id);
+        if (filter === 'others') params.set('excludeOwnerId', user.id);
+        if (cursor) params.set('cursor', cursor);
+        return `/dogsits/search?${params.toString()}`;
+    };
 
     const fetchRequests = async () => {
         try {
-            const data = await apiCall('/dogsits/status/PENDING');
-            setRequests(data);
+            const data = await apiCall(buildSearchUrl(null));
+            setRequests(data.items);
+            setNextCursor(data.nextCursor);
         } catch (err){
             setError(err.message);
         } finally{
@@ -23,6 +60,16 @@ function RequestsPage({user}) {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            const data = await apiCall(buildSearchUrl(nextCursor));
+            setRequests(prev => [...prev, ...data.items]);
+            setNextCursor(data.nextCursor);
+        } catch (err){
+            setError(err.message);
+        }
+    };
+
     const acceptRequest = async (requestId) => {
         try {
             await apiCall(`/dogsits/${requestId}/accept/${user.id}`,{
@@ -72,20 +119,9 @@ function RequestsPage({user}) {
         }
     };
 
-    const filteredRequests = requests.filter(request => {
-        if (filter === 'mine') return request.owner.id === user.id;
-        if (filter === 'others') return request.owner.id !== user.id;
-        return true;
-    });
-
-    const sortedRequests = [...filteredRequests].sort((a, b) => {
-        if(sortBy === 'date'){
-            return new Date(a.startTime) - new Date(b.startTime);
-        }else if(sortBy === 'points'){
-            return calculatePoints(b.startTime, b.endTime) - calculatePoints(a.startTime, a.endTime);
-        }
-        return 0;
-    });
+    const sortedRequests = sortBy === 'points'
+        ? [...requests].sort((a, b) => calculatePoints(b.startTime, b.endTime) - calculatePoints(a.startTime, a.endTime))
+        : requests;
 
     if(loading){
         return (
@@ -609,6 +645,25 @@ function RequestsPage({user}) {
                         })}
                     </div>
                 )}
+                {nextCursor && (
+                    <div style={{textAlign: 'center', marginTop: '30px'}}>
+                        <button
+                            onClick={loadMore}
+                            style={{
+                                background: 'linear-gradient(135deg, #4caf50 0%, #45a049 100%)',
+                                color: 'white',
+                                padding: '12px 24px',
+                                border: 'none',
+                                borderRadius: '12px',
+                                cursor: 'pointer',
+                                fontSize: '14px',
+                                fontWeight: '600'
+                            }}
+                        >
+                            Load More
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -0,0 +1,61 @@
+package com.example.sitswap.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.sitswap.config.BasicAuthCredentials;
+import com.example.sitswap.config.CachingPasswordEncoder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthHeaderBenchmark {
+
+    @Param({"bcrypt", "cached"})
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String authHeader;
+    private String storedHash;
+
+    @Setup
+    public void setUp(){
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        passwordEncoder = encoder.equals("cached")
+            ? new CachingPasswordEncoder(bcrypt, Duration.ofMinutes(10), 10_000)
+            : bcrypt;
+        storedHash = bcrypt.encode("correct horse battery staple");
+        authHeader = "Basic " + Base64.getEncoder()
+            .encodeToString("walker:correct horse battery staple".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public BasicAuthCredentials decodeHeader(){
+        return BasicAuthCredentials.parse(authHeader);
+    }
+
+    @Benchmark
+    public boolean decodeAndVerify(){
+        BasicAuthCredentials credentials = BasicAuthCredentials.parse(authHeader);
+        return passwordEncoder.matches(credentials.password(), storedHash);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.sitswap.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.sitswap.SitswapApplication;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.service.DogsitRequestService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompleteRequestBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private DogsitRequestService service;
+    private DogsitRequestRepository dogsitRepo;
+    private User owner;
+    private User sitter;
+    private Long requestId;
+
+    @Setup(Level.Trial)
+    public void startApplication(){
+        context = new SpringApplicationBuilder(SitswapApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run();
+        service = context.getBean(DogsitRequestService.class);
+        dogsitRepo = context.getBean(DogsitRequestRepository.class);
+
+        UserRepository userRepo = context.getBean(UserRepository.class);
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", Integer.MAX_VALUE));
+        sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+    }
+
+    @Setup(Level.Invocation)
+    public void createAcceptedRequest(){
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        requestId = dogsitRepo.save(new DogsitRequest("Walk", start, start.plusHours(2), "Park",
+            owner, sitter, RequestStatus.ACCEPTED)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication(){
+        context.close();
+    }
+
+    @Benchmark
+    public DogsitRequest completeRequest(){
+        return service.completeRequest(requestId);
+    }
+}
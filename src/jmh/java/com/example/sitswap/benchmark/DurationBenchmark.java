@@ -0,0 +1,40 @@
+package com.example.sitswap.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationBenchmark {
+
+    private DogsitRequest request;
+
+    @Setup
+    public void setUp(){
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        request = new DogsitRequest("Walk", start, start.plusHours(3).plusMinutes(20), "Park", null, null, RequestStatus.PENDING);
+    }
+
+    @Benchmark
+    public Long durationHours(){
+        return request.getDurationHours();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.sitswap.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.UserRef;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestSerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<DogsitRequest> entities;
+    private List<DogsitRequestSummary> summaries;
+
+    @Setup
+    public void setUp(){
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for(int i = 0; i < size; i++){
+            User owner = new User((long) i, "Owner " + i, "owner" + i + "@example.com", "owner" + i,
+                "$2a$10$abcdefghijklmnopqrstuuJ0b3Zq7bG2Cw9m8kKJ8l0bq0bq0bq0b", 100);
+            Pet pet = new Pet("Rex", "Beagle", 4, "medium", "Friendly and curious", "None", "high", null, owner);
+            pet.setId(i);
+
+            DogsitRequest request = new DogsitRequest((long) i, "Walk " + i, "123 Maple Street",
+                start.plusHours(i), start.plusHours(i + 3), owner, null, RequestStatus.PENDING);
+            request.setPet(pet);
+            request.setPetName(pet.getName());
+            request.setPetBreed(pet.getBreed());
+            request.setPetAge(pet.getAge());
+            request.setPetSize(pet.getSize());
+            request.setPetDescription(pet.getDescription());
+            request.setPetSpecialNeeds(pet.getSpecialNeeds());
+            request.setPetEnergyLevel(pet.getEnergyLevel());
+            entities.add(request);
+
+            summaries.add(new DogsitRequestSummary(request.getId(), request.getDescription(), request.getLocation(),
+                request.getLatitude(), request.getLongitude(), request.getStartTime(), request.getEndTime(), request.getStatus(), request.getPetName(),
+                request.getPetBreed(), request.getPetAge(), request.getPetSize(), request.getPetEnergyLevel(),
+                request.getPetImageUrl(), new UserRef(owner.getId(), owner.getName()), null, null, false));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.sitswap.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs ahead of Spring Security: throttles /auth/** per client IP, and turns a saturated hashing pool
+ * (hit from HTTP Basic on any endpoint) into a 429 instead of a 500.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class AuthThrottlingFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter ipLimiter;
+
+    public AuthThrottlingFilter(@Qualifier("authIpRateLimiter") TokenBucketRateLimiter ipLimiter){
+        this.ipLimiter = ipLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if(request.getRequestURI().startsWith(request.getContextPath() + "/auth/")){
+            // Tomcat's RemoteIpValve has already replaced this with the client address forwarded by a trusted proxy.
+            String address = request.getRemoteAddr();
+            if(!ipLimiter.tryAcquire(address)){
+                reject(response, ipLimiter.retryAfter(address), "Too many authentication attempts, try again later");
+                return;
+            }
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            PasswordHashingBusyException busy = findBusy(e);
+            if(busy == null || response.isCommitted()){
+                throw e;
+            }
+            reject(response, Duration.ofSeconds(1), busy.getMessage());
+        }
+    }
+
+    static void reject(HttpServletResponse response, Duration retryAfter, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    private static PasswordHashingBusyException findBusy(Throwable error){
+        for(Throwable cause = error; cause != null; cause = cause.getCause()){
+            if(cause instanceof PasswordHashingBusyException busy){
+                return busy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.sitswap.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record BasicAuthCredentials(String username, String password) {
+
+    private static final String PREFIX = "Basic ";
+
+    public static BasicAuthCredentials parse(String authHeader){
+        if(authHeader == null || !authHeader.startsWith(PREFIX)){
+            return null;
+        }
+
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authHeader.substring(PREFIX.length())), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        String[] parts = credentials.split(":", 2);
+        if(parts.length != 2){
+            return null;
+        }
+        return new BasicAuthCredentials(parts[0], parts[1]);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.sitswap.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps how many threads may hold or wait inside the pool at once.
+ * Thousands of virtual threads then queue on a fair semaphore instead of piling into Hikari,
+ * and a caller that cannot get a permit in time fails fast rather than starving the rest.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMillis){
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrent(){
+        return maxConcurrent;
+    }
+
+    public int getInUse(){
+        return inUse.get();
+    }
+
+    public int getPeakInUse(){
+        return peakInUse.get();
+    }
+
+    public int getQueueLength(){
+        return permits.getQueueLength();
+    }
+
+    public long getAcquiredCount(){
+        return acquired.sum();
+    }
+
+    public double getTotalWaitNanos(){
+        return waitNanos.sum();
+    }
+
+    public long getTimeoutCount(){
+        return timeouts.sum();
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        try {
+            if(!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)){
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out waiting for a database connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        }
+        acquired.increment();
+        waitNanos.add(System.nanoTime() - started);
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    }
+
+    private void release(){
+        inUse.decrementAndGet();
+        permits.release();
+    }
+
+    private Connection guard(Connection connection){
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if(method.getName().equals("close") && method.getParameterCount() == 0){
+                    try {
+                        connection.close();
+                    } finally {
+                        if(closed.compareAndSet(false, true)){
+                            release();
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
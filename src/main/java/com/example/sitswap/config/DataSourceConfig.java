@@ -0,0 +1,72 @@
+package com.example.sitswap.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment,
+            ObjectProvider<QueryTracingListener> queryTracingListener){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource){
+                    return bean;
+                }
+                int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int maxConcurrent = environment.getProperty("sitswap.datasource.max-concurrent", Integer.class, poolSize);
+                long acquireTimeout = environment.getProperty("sitswap.datasource.acquire-timeout-ms", Long.class, 5000L);
+                DataSource traced = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(queryTracingListener.getObject())
+                    .build();
+                return new BulkheadDataSource(traced, maxConcurrent, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public QueryTracingListener queryTracingListener(@Value("${sitswap.sql.slow-threshold:PT0.2S}") Duration slowThreshold,
+            @Qualifier("slowQueryLogExecutor") Executor slowQueryLogExecutor){
+        return new QueryTracingListener(slowThreshold, slowQueryLogExecutor);
+    }
+
+    // Hikari's own hikaricp.* meters only see the pool; time spent queued for a permit ahead of it is reported here.
+    @Bean
+    public MeterBinder bulkheadMetrics(DataSource dataSource){
+        return registry -> {
+            if(!(dataSource instanceof BulkheadDataSource bulkhead)){
+                return;
+            }
+            Gauge.builder("sitswap.datasource.bulkhead.permits", bulkhead, BulkheadDataSource::getMaxConcurrent).register(registry);
+            Gauge.builder("sitswap.datasource.bulkhead.active", bulkhead, BulkheadDataSource::getInUse).register(registry);
+            Gauge.builder("sitswap.datasource.bulkhead.pending", bulkhead, BulkheadDataSource::getQueueLength).register(registry);
+            FunctionTimer.builder("sitswap.datasource.bulkhead.wait", bulkhead,
+                    BulkheadDataSource::getAcquiredCount, BulkheadDataSource::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+            FunctionCounter.builder("sitswap.datasource.bulkhead.timeouts", bulkhead, BulkheadDataSource::getTimeoutCount)
+                .register(registry);
+        };
+    }
+}
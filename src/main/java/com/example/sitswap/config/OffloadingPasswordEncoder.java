@@ -0,0 +1,80 @@
+package com.example.sitswap.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs hashing on a small fixed pool, so BCrypt never uses more cores than that pool has, however many request threads are waiting.
+ * With virtual request threads the caller just parks until its hash is done; when the queue is full it fails at once instead.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, Executor executor, MeterRegistry registry){
+        this.delegate = delegate;
+        this.executor = executor;
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.verifyTimer = hashTimer(registry, "verify");
+        this.rejected = Counter.builder("sitswap.auth.password.hash.rejected").register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> verifyTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T offload(Supplier<T> work){
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            // A full queue means hashing is already saturated; waiting longer would only back up request threads.
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in attempts in progress, try again shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtime){
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Times the hash itself on the pool thread; time spent queued shows up in the executor's own metrics.
+    private static Timer hashTimer(MeterRegistry registry, String operation){
+        return Timer.builder("sitswap.auth.password.hash")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.sitswap.config;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message){
+        super(message);
+    }
+}
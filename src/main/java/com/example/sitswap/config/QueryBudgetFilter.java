@@ -0,0 +1,97 @@
+package com.example.sitswap.config;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL round trips and time each request spends, authentication included, and checks them against the
+ * budgets in sitswap.sql.budgets (Ant-style path pattern to max statements; the most specific pattern wins).
+ * Overruns are logged, or thrown when sitswap.sql.enforce-budgets is set so tests fail on a regression.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, Integer> budgets;
+    private final boolean enforce;
+    private final MeterRegistry registry;
+
+    public QueryBudgetFilter(Environment environment, @Value("${sitswap.sql.enforce-budgets:false}") boolean enforce,
+            MeterRegistry registry){
+        this.budgets = Binder.get(environment)
+            .bind("sitswap.sql.budgets", Bindable.mapOf(String.class, Integer.class))
+            .orElse(Map.of());
+        this.enforce = enforce;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        QueryTracingListener.Tally tally = QueryTracingListener.open(request.getMethod() + " " + path);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryTracingListener.close();
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : "UNMATCHED";
+        DistributionSummary.builder("sitswap.http.sql.statements")
+            .tag("uri", uri)
+            .register(registry)
+            .record(tally.getStatements());
+        Timer.builder("sitswap.http.sql.time")
+            .tag("uri", uri)
+            .register(registry)
+            .record(tally.getTime());
+        log.debug("{} {}: {} statements in {} ms", request.getMethod(), path, tally.getStatements(), tally.getTime().toMillis());
+
+        String pattern = budgetFor(path);
+        if(pattern != null && tally.getStatements() > budgets.get(pattern)){
+            String message = request.getMethod() + " " + path + " ran " + tally.getStatements()
+                + " SQL statements, over the budget of " + budgets.get(pattern) + " for " + pattern;
+            if(enforce){
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private String budgetFor(String path){
+        Comparator<String> specificity = matcher.getPatternComparator(path);
+        String best = null;
+        for(String pattern : budgets.keySet()){
+            if(matcher.match(pattern, path) && (best == null || specificity.compare(pattern, best) < 0)){
+                best = pattern;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.sitswap.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Tallies every statement execution against the current request's {@link Tally}, if one is open on this thread,
+ * and hands statements slower than the threshold to a background logger so the SQL path never waits on log output.
+ */
+public class QueryTracingListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("com.example.sitswap.sql.slow");
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static final class Tally {
+        private final String request;
+        private int statements;
+        private long nanos;
+
+        private Tally(String request){
+            this.request = request;
+        }
+
+        public int getStatements(){
+            return statements;
+        }
+
+        public Duration getTime(){
+            return Duration.ofNanos(nanos);
+        }
+    }
+
+    private final long slowThresholdMillis;
+    private final Executor logExecutor;
+
+    public QueryTracingListener(Duration slowThreshold, Executor logExecutor){
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.logExecutor = logExecutor;
+    }
+
+    public static Tally open(String request){
+        Tally tally = new Tally(request);
+        CURRENT.set(tally);
+        return tally;
+    }
+
+    public static void close(){
+        CURRENT.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // One execution is one round trip, however many statements a JDBC batch carried.
+        Tally tally = CURRENT.get();
+        if(tally != null){
+            tally.statements++;
+            tally.nanos += TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        }
+
+        long elapsed = execInfo.getElapsedTime();
+        if(elapsed >= slowThresholdMillis){
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            String request = tally != null ? tally.request : Thread.currentThread().getName();
+            int batchSize = execInfo.isBatch() ? execInfo.getBatchSize() : 1;
+            logExecutor.execute(() -> log.warn("Slow SQL ({} ms, batch {}) during {}: {}", elapsed, batchSize, request, sql));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.sitswap.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter authIpRateLimiter(
+            @Value("${sitswap.auth.rate-limit.ip.permits:30}") int permits,
+            @Value("${sitswap.auth.rate-limit.ip.period:PT1M}") Duration period,
+            @Value("${sitswap.auth.rate-limit.stripes:65536}") int stripes){
+        return new TokenBucketRateLimiter(permits, period, stripes);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter authUsernameRateLimiter(
+            @Value("${sitswap.auth.rate-limit.username.permits:10}") int permits,
+            @Value("${sitswap.auth.rate-limit.username.period:PT1M}") Duration period,
+            @Value("${sitswap.auth.rate-limit.stripes:65536}") int stripes){
+        return new TokenBucketRateLimiter(permits, period, stripes);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.sitswap.config;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,19 +22,33 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final Executor passwordHashingExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sitswap.auth.cache.ttl:PT10M}")
+    private Duration credentialCacheTtl;
+
+    @Value("${sitswap.auth.cache.max-entries:10000}")
+    private int credentialCacheMaxEntries;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService){
+    public SecurityConfig(CustomUserDetailsService userDetailsService,
+            @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor, MeterRegistry meterRegistry){
         this.userDetailsService = userDetailsService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new CachingPasswordEncoder(new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor, meterRegistry),
+            credentialCacheTtl, credentialCacheMaxEntries);
     }
 
     @Bean
@@ -48,7 +67,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                                 .requestMatchers("/auth/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/dogsits", "/users").permitAll()
+                                // The management port is bound to localhost only, so scraping needs no credentials.
+                                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                                .requestMatchers(HttpMethod.GET, "/dogsits", "/dogsits/search", "/dogsits/nearby", "/dogsits/available", "/dogsits/stream", "/users").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/dogsits/status/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
                                 .anyRequest().authenticated()
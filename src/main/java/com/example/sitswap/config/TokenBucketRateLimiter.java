@@ -0,0 +1,64 @@
+package com.example.sitswap.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, kept in a fixed array of stripes so memory stays flat no matter how many keys show up.
+ * Each stripe holds one timestamp updated by CAS (the GCRA form of a token bucket), so there are no locks and no per-key objects.
+ * Keys that hash to the same stripe share a bucket; with enough stripes that only makes the limit slightly stricter.
+ */
+public class TokenBucketRateLimiter {
+
+    private final AtomicLongArray theoreticalArrival;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    public TokenBucketRateLimiter(int permits, Duration period, int stripes){
+        this(permits, period, stripes, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int permits, Duration period, int stripes, LongSupplier clock){
+        if(permits < 1 || stripes < 1){
+            throw new IllegalArgumentException("Permits and stripes must be positive");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.theoreticalArrival = new AtomicLongArray(Math.max(size, 1));
+        this.mask = theoreticalArrival.length() - 1;
+        this.emissionIntervalNanos = period.toNanos() / permits;
+        this.burstToleranceNanos = emissionIntervalNanos * (permits - 1);
+        this.clock = clock;
+        // Offset so an untouched stripe (0) always reads as a full bucket.
+        this.origin = clock.getAsLong() - period.toNanos();
+    }
+
+    public boolean tryAcquire(String key){
+        int stripe = stripe(key);
+        long now = clock.getAsLong() - origin;
+        while(true){
+            long current = theoreticalArrival.get(stripe);
+            long start = Math.max(current, now);
+            if(start - now > burstToleranceNanos){
+                return false;
+            }
+            if(theoreticalArrival.compareAndSet(stripe, current, start + emissionIntervalNanos)){
+                return true;
+            }
+        }
+    }
+
+    public Duration retryAfter(String key){
+        long now = clock.getAsLong() - origin;
+        long wait = theoreticalArrival.get(stripe(key)) - burstToleranceNanos - now;
+        return Duration.ofNanos(Math.max(wait, 0));
+    }
+
+    private int stripe(String key){
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
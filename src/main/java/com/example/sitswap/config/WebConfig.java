@@ -1,12 +1,28 @@
 package com.example.sitswap.config;
 
+import java.time.Duration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
 
+@Configuration
 public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry){
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("classpath:/static/images");
+        registry.addResourceHandler("/images/pets/**")
+                .addResourceLocations("classpath:/static/images/pets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    }
+
+    // API responses carry ETag/Last-Modified; no-cache makes browsers revalidate instead of guessing a freshness lifetime.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry){
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.noCache(), "/dogsits/**", "/users/**", "/pets/**", "/cache/**");
+        registry.addInterceptor(interceptor);
     }
 }
@@ -1,8 +1,12 @@
 package com.example.sitswap.controller;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.sitswap.config.PasswordHashingBusyException;
+import com.example.sitswap.config.TokenBucketRateLimiter;
 import com.example.sitswap.model.User;
 import com.example.sitswap.repository.UserRepository;
 
@@ -20,10 +26,13 @@ public class AuthController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenBucketRateLimiter usernameLimiter;
 
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder){
+    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            @Qualifier("authUsernameRateLimiter") TokenBucketRateLimiter usernameLimiter){
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameLimiter = usernameLimiter;
     }
 
     @PostMapping("/signup")
@@ -32,6 +41,9 @@ public class AuthController {
             if(userRepository.findByUsername(request.getUsername()).isPresent()){
                 return ResponseEntity.badRequest().body(Map.of("error", "Username already exists"));
             }
+            if(request.getEmail() != null && userRepository.findUserByEmail(request.getEmail()).isPresent()){
+                return ResponseEntity.badRequest().body(Map.of("error", "Email already registered"));
+            }
 
             User user = new User();
             user.setName(request.getName());
@@ -43,6 +55,8 @@ public class AuthController {
             User savedUser = userRepository.save(user);
 
             return ResponseEntity.ok(createUserResponse(savedUser));
+        } catch (PasswordHashingBusyException e){
+            return tooManyRequests(e.getMessage());
         } catch (Exception e){
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to create account: " + e.getMessage()));
         }
@@ -51,6 +65,11 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
         try {
+            String limitKey = request.getUsername() == null ? "" : request.getUsername().toLowerCase(Locale.ROOT);
+            if(!usernameLimiter.tryAcquire(limitKey)){
+                return tooManyRequests("Too many login attempts for this account, try again later");
+            }
+
             Optional<User> userOpt = userRepository.findByUsername(request.getUsername());
 
             if(userOpt.isEmpty()){
@@ -64,11 +83,19 @@ public class AuthController {
             }
 
             return ResponseEntity.ok(createUserResponse(user));
+        } catch (PasswordHashingBusyException e){
+            return tooManyRequests(e.getMessage());
         } catch (Exception e){
             return ResponseEntity.badRequest().body(Map.of("error", "Login failed: " + e.getMessage()));
         }
     }
 
+    private ResponseEntity<?> tooManyRequests(String message){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", message));
+    }
+
     private Map<String, Object> createUserResponse(User user){
         return Map.of(
             "id", user.getId(),
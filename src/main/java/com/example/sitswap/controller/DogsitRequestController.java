@@ -1,11 +1,17 @@
 package com.example.sitswap.controller;
 
-import java.util.Base64;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,50 +19,177 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.sitswap.config.BasicAuthCredentials;
+import com.example.sitswap.config.PasswordHashingBusyException;
+import com.example.sitswap.dto.BatchRequestIds;
+import com.example.sitswap.dto.DogsitRequestForm;
+import com.example.sitswap.dto.DogsitRequestSearch;
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.RecurringScheduleForm;
+import com.example.sitswap.dto.RecurringScheduleSummary;
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.event.DogsitEventBroadcaster;
+import com.example.sitswap.event.DogsitRequestEvent;
+import com.example.sitswap.index.PendingBoardCache;
 import com.example.sitswap.model.DogsitRequest;
 import com.example.sitswap.model.DogsitRequest.RequestStatus;
 import com.example.sitswap.model.User;
 import com.example.sitswap.repository.UserRepository;
 import com.example.sitswap.service.DogsitRequestService;
+import com.example.sitswap.service.RecurringScheduleService;
+import com.example.sitswap.service.RequestAlreadyTakenException;
+import com.example.sitswap.service.ScheduleConflictException;
 
 @RestController
 @RequestMapping(path="/dogsits")
 public class DogsitRequestController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final DogsitRequestService service;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DogsitEventBroadcaster broadcaster;
+    private final RecurringScheduleService scheduleService;
+    private final PendingBoardCache pendingBoard;
 
-    public DogsitRequestController(DogsitRequestService service, UserRepository userRepository, PasswordEncoder passwordEncoder){
+    public DogsitRequestController(DogsitRequestService service, UserRepository userRepository, PasswordEncoder passwordEncoder,
+            DogsitEventBroadcaster broadcaster, RecurringScheduleService scheduleService, PendingBoardCache pendingBoard){
         this.service = service;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.broadcaster = broadcaster;
+        this.scheduleService = scheduleService;
+        this.pendingBoard = pendingBoard;
     }
 
     @GetMapping
-    public List<DogsitRequest> getAll(){
+    public List<DogsitRequestSummary> getAll(WebRequest webRequest){
+        ResourceVersion version = service.getRequestsVersion();
+        if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+            return null;
+        }
         return service.getAllRequests();
     }
 
     @PostMapping
-    public ResponseEntity<?> create(@RequestBody DogsitRequest request, @RequestHeader("Authorization") String authHeader){
+    public ResponseEntity<?> create(@RequestBody DogsitRequestForm form, @RequestHeader("Authorization") String authHeader){
         try {
             User authenticatedUser = getUserFromAuthHeader(authHeader);
             if(authenticatedUser == null){
                 return ResponseEntity.status(401).body("Authentication failed");
             }
 
-            request.setOwner(authenticatedUser);
-
-            DogsitRequest createdRequest = service.createRequest(request);
+            DogsitRequest createdRequest = service.createRequest(authenticatedUser, form);
             return ResponseEntity.ok(createdRequest);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error creating request: " + e.getMessage());
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBatch(@RequestBody List<DogsitRequestForm> requests, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null){
+                return ResponseEntity.status(401).body("Authentication failed");
+            }
+            if(requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE){
+                return ResponseEntity.badRequest().body(Map.of("error", "Batch must contain between 1 and " + MAX_BATCH_SIZE + " requests"));
+            }
+
+            List<DogsitRequestSummary> created = service.createRequestBatch(authenticatedUser, requests).stream()
+                .map(DogsitRequestSummary::from)
+                .toList();
+            return ResponseEntity.ok(created);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating requests: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/batch/accept")
+    public ResponseEntity<?> acceptBatch(@RequestBody BatchRequestIds batch, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null){
+                return ResponseEntity.status(401).body(Map.of("message", "Authentication failed"));
+            }
+            if(!isValidBatch(batch)){
+                return ResponseEntity.badRequest().body(Map.of("error", "Batch must contain between 1 and " + MAX_BATCH_SIZE + " requests"));
+            }
+
+            return ResponseEntity.ok(service.acceptRequests(batch.requestIds(), authenticatedUser.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping("/batch/complete")
+    public ResponseEntity<?> completeBatch(@RequestBody BatchRequestIds batch, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null){
+                return ResponseEntity.status(401).body("Authentication failed");
+            }
+            if(!isValidBatch(batch)){
+                return ResponseEntity.badRequest().body(Map.of("error", "Batch must contain between 1 and " + MAX_BATCH_SIZE + " requests"));
+            }
+
+            return ResponseEntity.ok(service.completeRequests(batch.requestIds(), authenticatedUser.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/schedules")
+    public ResponseEntity<?> createSchedule(@RequestBody RecurringScheduleForm form, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null){
+                return ResponseEntity.status(401).body("Authentication failed");
+            }
+
+            return ResponseEntity.ok(RecurringScheduleSummary.from(scheduleService.createSchedule(authenticatedUser, form)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/schedules")
+    public ResponseEntity<?> getSchedules(@RequestHeader("Authorization") String authHeader){
+        User authenticatedUser = getUserFromAuthHeader(authHeader);
+        if(authenticatedUser == null){
+            return ResponseEntity.status(401).body("Authentication failed");
+        }
+
+        return ResponseEntity.ok(scheduleService.getSchedules(authenticatedUser.getId()).stream()
+            .map(RecurringScheduleSummary::from)
+            .toList());
+    }
+
+    @DeleteMapping("/schedules/{scheduleId}")
+    public ResponseEntity<Map<String, String>> stopSchedule(@PathVariable Long scheduleId, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null){
+                return ResponseEntity.status(401).body(Map.of("message", "Authentication failed"));
+            }
+
+            scheduleService.deactivateSchedule(scheduleId, authenticatedUser.getId());
+            return ResponseEntity.ok(Map.of("message", "Schedule stopped"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{requestId}/accept/{userId}")
     public ResponseEntity<Map<String, String>> acceptRequest(@PathVariable Long requestId, @PathVariable Long userId, @RequestHeader("Authorization") String authHeader){
         try {
@@ -67,6 +200,28 @@ public class DogsitRequestController {
 
             service.acceptRequest(requestId, userId);
             return ResponseEntity.ok(Map.of("message", "Request accepted successfully"));
+        } catch (RequestAlreadyTakenException | ScheduleConflictException e) {
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
+        }
+    }
+
+    // Virtual occurrences on the PENDING board have no id yet; accepting one creates its request and accepts that.
+    @PutMapping("/schedules/{scheduleId}/occurrences/{startTime}/accept/{userId}")
+    public ResponseEntity<Map<String, String>> acceptOccurrence(@PathVariable Long scheduleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @PathVariable Long userId, @RequestHeader("Authorization") String authHeader){
+        try {
+            User authenticatedUser = getUserFromAuthHeader(authHeader);
+            if(authenticatedUser == null || !authenticatedUser.getId().equals(userId)) {
+                return ResponseEntity.status(401).body(Map.of("message", "Authentication failed"));
+            }
+
+            DogsitRequest accepted = service.acceptOccurrence(scheduleId, startTime, userId);
+            return ResponseEntity.ok(Map.of("message", "Request accepted successfully", "requestId", accepted.getId().toString()));
+        } catch (RequestAlreadyTakenException | ScheduleConflictException e) {
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
         }
@@ -88,38 +243,152 @@ public class DogsitRequestController {
     }
 
     @GetMapping("/status/{status}")
-    public List<DogsitRequest> getByStatus(@PathVariable String status){
+    public ResponseEntity<?> getByStatus(@PathVariable String status, WebRequest webRequest){
+        RequestStatus enumStatus;
         try {
-            RequestStatus enumStatus = RequestStatus.valueOf(status.toUpperCase());
-            return service.getRequestsByStatus(enumStatus);
+            enumStatus = RequestStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Status must be PENDING, ACCEPTED, or COMPLETED");
         }
+
+        if(enumStatus == RequestStatus.PENDING){
+            // Spring answers a matching If-None-Match with 304 before the body is written.
+            PendingBoardCache.Snapshot board = pendingBoard.snapshot();
+            if(board != null){
+                return ResponseEntity.ok()
+                    .eTag(board.etag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(board.json());
+            }
+            // Virtual occurrences are not covered by the table version, so the cold path is served unconditionally.
+            return ResponseEntity.ok(service.getRequestsByStatus(enumStatus));
+        }
+
+        ResourceVersion version = service.getRequestsVersion(enumStatus);
+        if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+            return null;
+        }
+        return ResponseEntity.ok(service.getRequestsByStatus(enumStatus));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) Long excludeOwnerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String petSize,
+            @RequestParam(required = false) String petEnergyLevel,
+            @RequestParam(defaultValue = "startTime") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit){
+        RequestStatus enumStatus = null;
+        if(status != null){
+            try {
+                enumStatus = RequestStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Status must be PENDING, ACCEPTED, or COMPLETED"));
+            }
+        }
+
+        try {
+            boolean descending;
+            if(sort.equals("startTime")){
+                descending = false;
+            } else if(sort.equals("-startTime")){
+                descending = true;
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("error", "Sort must be startTime or -startTime"));
+            }
+
+            int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+            // No validator here: a page is cheap to query, while the list version aggregates the whole status partition.
+            DogsitRequestSearch search = new DogsitRequestSearch(ownerId, excludeOwnerId, enumStatus, location,
+                from, to, petSize, petEnergyLevel, descending, cursor, pageSize);
+            return ResponseEntity.ok(service.searchRequests(search));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> nearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radius,
+            @RequestParam(required = false) Integer limit){
+        if(lat < -90 || lat > 90 || lon < -180 || lon > 180){
+            return ResponseEntity.badRequest().body(Map.of("error", "Coordinates are out of range"));
+        }
+        if(radius <= 0 || radius > MAX_NEARBY_RADIUS_KM){
+            return ResponseEntity.badRequest().body(Map.of("error", "Radius must be between 0 and " + (int) MAX_NEARBY_RADIUS_KM + " km"));
+        }
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(service.findNearbyRequests(lat, lon, radius, size));
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<?> available(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long sitterId,
+            @RequestParam(required = false) Integer limit){
+        if(!to.isAfter(from)){
+            return ResponseEntity.badRequest().body(Map.of("error", "To must be after from"));
+        }
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(service.findAvailableRequests(from, to, sitterId, size));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) Long acceptedById,
+            @RequestParam(required = false) Set<DogsitRequestEvent.Type> types){
+        SseEmitter emitter = broadcaster.subscribe(new DogsitEventBroadcaster.SubscriptionFilter(ownerId, acceptedById, types));
+        if(emitter == null){
+            return ResponseEntity.status(503).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private boolean isValidBatch(BatchRequestIds batch){
+        return batch != null && batch.requestIds() != null && !batch.requestIds().isEmpty()
+            && batch.requestIds().size() <= MAX_BATCH_SIZE && !batch.requestIds().contains(null);
     }
 
     private User getUserFromAuthHeader(String authHeader){
         try {
-            if(authHeader == null || !authHeader.startsWith("Basic ")) {
+            BasicAuthCredentials credentials = BasicAuthCredentials.parse(authHeader);
+            if(credentials == null){
                 return null;
             }
 
-            String base64Credentials = authHeader.substring("Basic ".length());
-            String credentials = new String(Base64.getDecoder().decode(base64Credentials));
-            String[] parts = credentials.split(":", 2);
+            String username = credentials.username();
+            String password = credentials.password();
 
-            if(parts.length != 2){
+            User user = userRepository.findByUsername(username).orElse(null);
+            if(user == null){
                 return null;
             }
 
-            String username = parts[0];
-            String password = parts[1];
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if(authentication != null && authentication.isAuthenticated() && username.equals(authentication.getName())){
+                return user;
+            }
 
-            User user = userRepository.findByUsername(username).orElse(null);
-            if(user != null && passwordEncoder.matches(password, user.getPassword())){
+            if(passwordEncoder.matches(password, user.getPassword())){
                 return user;
             }
 
             return null;
+        } catch (PasswordHashingBusyException e){
+            throw e;
         } catch (Exception e){
             return null;
         }
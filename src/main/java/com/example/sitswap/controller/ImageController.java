@@ -0,0 +1,39 @@
+package com.example.sitswap.controller;
+
+import java.time.Duration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.sitswap.storage.ImageStore;
+
+@RestController
+@RequestMapping(path = "/images/store")
+public class ImageController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final ImageStore imageStore;
+
+    public ImageController(ImageStore imageStore){
+        this.imageStore = imageStore;
+    }
+
+    @GetMapping("/{key:.+}")
+    public ResponseEntity<Resource> getImage(@PathVariable String key){
+        return imageStore.get(key)
+            .map(resource -> ResponseEntity.ok()
+                .cacheControl(IMMUTABLE)
+                .eTag(key.substring(0, key.indexOf('.')))
+                .contentType(MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .body(resource))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
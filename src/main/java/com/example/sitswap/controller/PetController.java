@@ -3,6 +3,8 @@ package com.example.sitswap.controller;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +15,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.sitswap.dto.ResourceVersion;
 import com.example.sitswap.model.Pet;
 import com.example.sitswap.service.PetService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 
 
 
@@ -31,8 +38,14 @@ public class PetController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Pet> getPetById(@PathVariable Long id) {
+    public ResponseEntity<Pet> getPetById(@PathVariable Long id, WebRequest webRequest) {
         Optional<Pet> pet = petService.getPetById(id);
+        if(pet.isPresent()){
+            ResourceVersion version = ResourceVersion.of(pet.get().getVersion(), pet.get().getUpdatedAt());
+            if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+                return null;
+            }
+        }
         return pet.map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
@@ -57,11 +70,29 @@ public class PetController {
         }
     }
 
-    @PostMapping("/{id}/image")
+    @PostMapping(path = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadPetImage(@PathVariable Long id, @RequestParam("image") MultipartFile image){
         try {
             Pet updatedPet = petService.uploadPetImage(id, image);
             return ResponseEntity.ok(updatedPet);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }catch (Exception e){
+            return ResponseEntity.status(500).body(Map.of("error", "Internal server error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping(path = "/{id}/image", consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> streamPetImage(@PathVariable Long id, HttpServletRequest request){
+        try {
+            Pet updatedPet = petService.streamPetImage(id, request.getInputStream(), request.getContentLengthLong());
+            return ResponseEntity.ok(updatedPet);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(Map.of("error", e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }catch (Exception e){
@@ -1,8 +1,11 @@
 package com.example.sitswap.controller;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,26 +15,43 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.dto.UserSummary;
 import com.example.sitswap.model.Pet;
 import com.example.sitswap.model.User;
 import com.example.sitswap.service.PetService;
+import com.example.sitswap.service.SitHistoryService;
 import com.example.sitswap.service.UserService;
+import com.example.sitswap.service.UserStatsService;
 
 
 @RestController
 @RequestMapping(path="/users")
 public class UserController {
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final UserService userService;
     private final PetService petService;
+    private final SitHistoryService historyService;
+    private final UserStatsService statsService;
 
-    public UserController(UserService service, PetService petService){
+    public UserController(UserService service, PetService petService, SitHistoryService historyService,
+            UserStatsService statsService){
         this.userService = service;
         this.petService = petService;
+        this.historyService = historyService;
+        this.statsService = statsService;
     }
 
     @GetMapping
-    public List<User> getAllUsers(){
+    public List<UserSummary> getAllUsers(WebRequest webRequest){
+        ResourceVersion version = userService.getUsersVersion();
+        if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+            return null;
+        }
         return userService.getUsers();
     }
 
@@ -41,8 +61,15 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public Optional<User> getUserById(@PathVariable Long id) {
-        return userService.getUserById(id);
+    public Optional<User> getUserById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<User> user = userService.getUserById(id);
+        if(user.isPresent()){
+            ResourceVersion version = ResourceVersion.of(user.get().getVersion(), user.get().getUpdatedAt());
+            if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+                return null;
+            }
+        }
+        return user;
     }
 
     @PutMapping("/{id}/points")
@@ -51,10 +78,41 @@ public class UserController {
     }
 
     @GetMapping("/{id}/pets")
-    public List<Pet> getUserPets(@PathVariable Long id) {
+    public List<Pet> getUserPets(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = petService.getPetsVersion(id);
+        if(webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())){
+            return null;
+        }
         return petService.getPetsByUserId(id);
     }
 
+    // Past sits name the other party and the points exchanged, so they are private like the stats below.
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getPastSits(@PathVariable Long id, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit, Principal principal) {
+        User user = principal == null ? null : userService.getUserByUsername(principal.getName()).orElse(null);
+        if(user == null || !user.getId().equals(id)){
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "You can only view your own history"));
+        }
+        int pageSize = limit == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        try {
+            return ResponseEntity.ok(historyService.getPastSits(id, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Totals include points earned and spent, so only the user themselves may read them. The username lookup is
+    // served from the query cache that HTTP Basic has just filled.
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getUserStats(@PathVariable Long id, Principal principal) {
+        User user = principal == null ? null : userService.getUserByUsername(principal.getName()).orElse(null);
+        if(user == null || !user.getId().equals(id)){
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "You can only view your own stats"));
+        }
+        return ResponseEntity.ok(statsService.getStats(id));
+    }
+
     @PostMapping("/{id}/pets")
     public ResponseEntity<Pet> createPetForUser(@PathVariable Long id, @RequestBody Pet pet) {
         try {
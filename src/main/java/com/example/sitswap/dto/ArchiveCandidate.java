@@ -0,0 +1,6 @@
+package com.example.sitswap.dto;
+
+import java.time.Instant;
+
+public record ArchiveCandidate(Long id, Instant completedAt) {
+}
@@ -0,0 +1,6 @@
+package com.example.sitswap.dto;
+
+import java.util.List;
+
+public record BatchRequestIds(List<Long> requestIds) {
+}
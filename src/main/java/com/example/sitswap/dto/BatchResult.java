@@ -0,0 +1,7 @@
+package com.example.sitswap.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record BatchResult(List<Long> succeeded, Map<Long, String> failed) {
+}
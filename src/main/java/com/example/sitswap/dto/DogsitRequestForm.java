@@ -0,0 +1,44 @@
+package com.example.sitswap.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.sitswap.model.DogsitRequest;
+
+/**
+ * The fields a client may set when posting a request. Owner, status, sitter and versioning are always decided by
+ * the server, so they are deliberately absent here.
+ */
+public record DogsitRequestForm(
+        String description,
+        String location,
+        Double latitude,
+        Double longitude,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long petId,
+        String petName,
+        String petBreed,
+        Integer petAge,
+        String petSize,
+        String petDescription,
+        String petSpecialNeeds,
+        String petEnergyLevel) {
+
+    public DogsitRequest toRequest(){
+        DogsitRequest request = new DogsitRequest();
+        request.setDescription(description);
+        request.setLocation(location);
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setPetName(petName);
+        request.setPetBreed(petBreed);
+        request.setPetAge(petAge);
+        request.setPetSize(petSize);
+        request.setPetDescription(petDescription);
+        request.setPetSpecialNeeds(petSpecialNeeds);
+        request.setPetEnergyLevel(petEnergyLevel);
+        return request;
+    }
+}
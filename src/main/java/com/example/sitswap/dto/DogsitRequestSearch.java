@@ -0,0 +1,19 @@
+package com.example.sitswap.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+
+public record DogsitRequestSearch(
+        Long ownerId,
+        Long excludeOwnerId,
+        RequestStatus status,
+        String location,
+        LocalDateTime from,
+        LocalDateTime to,
+        String petSize,
+        String petEnergyLevel,
+        boolean descending,
+        String cursor,
+        int limit) {
+}
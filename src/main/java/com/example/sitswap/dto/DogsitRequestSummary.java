@@ -0,0 +1,58 @@
+package com.example.sitswap.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.User;
+
+public record DogsitRequestSummary(
+        Long id,
+        String description,
+        String location,
+        Double latitude,
+        Double longitude,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        RequestStatus status,
+        String petName,
+        String petBreed,
+        Integer petAge,
+        String petSize,
+        String petEnergyLevel,
+        String petImageUrl,
+        UserRef owner,
+        UserRef acceptedBy,
+        Long scheduleId,
+        boolean virtual) {
+
+    public DogsitRequestSummary(Long id, String description, String location, Double latitude, Double longitude,
+            LocalDateTime startTime, LocalDateTime endTime, RequestStatus status, String petName, String petBreed,
+            Integer petAge, String petSize, String petEnergyLevel, String petImageUrl, Long ownerId, String ownerName,
+            Long acceptedById, String acceptedByName, Long scheduleId) {
+        this(id, description, location, latitude, longitude, startTime, endTime, status, petName, petBreed, petAge,
+            petSize, petEnergyLevel, petImageUrl, UserRef.of(ownerId, ownerName), UserRef.of(acceptedById, acceptedByName),
+            scheduleId, false);
+    }
+
+    public static DogsitRequestSummary from(DogsitRequest request){
+        User owner = request.getOwner();
+        User acceptedBy = request.getAcceptedBy();
+        return new DogsitRequestSummary(request.getId(), request.getDescription(), request.getLocation(),
+            request.getLatitude(), request.getLongitude(), request.getStartTime(), request.getEndTime(),
+            request.getStatus(), request.getPetName(), request.getPetBreed(), request.getPetAge(), request.getPetSize(), request.getPetEnergyLevel(),
+            request.getPetImageUrl(),
+            owner == null ? null : new UserRef(owner.getId(), owner.getName()),
+            acceptedBy == null ? null : new UserRef(acceptedBy.getId(), acceptedBy.getName()),
+            request.getScheduleId(), false);
+    }
+
+    // A schedule occurrence with no row yet: it has no id and is accepted by scheduleId and startTime instead.
+    public static DogsitRequestSummary occurrence(DogsitRequest occurrence, User owner){
+        return new DogsitRequestSummary(null, occurrence.getDescription(), occurrence.getLocation(),
+            occurrence.getLatitude(), occurrence.getLongitude(), occurrence.getStartTime(), occurrence.getEndTime(),
+            RequestStatus.PENDING, occurrence.getPetName(), occurrence.getPetBreed(), occurrence.getPetAge(),
+            occurrence.getPetSize(), occurrence.getPetEnergyLevel(), occurrence.getPetImageUrl(),
+            owner == null ? null : new UserRef(owner.getId(), owner.getName()), null, occurrence.getScheduleId(), true);
+    }
+}
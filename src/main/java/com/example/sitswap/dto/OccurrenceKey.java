@@ -0,0 +1,7 @@
+package com.example.sitswap.dto;
+
+import java.time.LocalDateTime;
+
+// Identifies a schedule occurrence, materialized or not; the pair is unique among request rows.
+public record OccurrenceKey(Long scheduleId, LocalDateTime startTime) {
+}
@@ -0,0 +1,26 @@
+package com.example.sitswap.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record PastSit(
+        Long id,
+        String description,
+        String location,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String petName,
+        String petBreed,
+        String petSize,
+        String petImageUrl,
+        UserRef owner,
+        UserRef acceptedBy,
+        Instant completedAt) {
+
+    public PastSit(Long id, String description, String location, LocalDateTime startTime, LocalDateTime endTime,
+            String petName, String petBreed, String petSize, String petImageUrl, Long ownerId, String ownerName,
+            Long acceptedById, String acceptedByName, Instant completedAt) {
+        this(id, description, location, startTime, endTime, petName, petBreed, petSize, petImageUrl,
+            UserRef.of(ownerId, ownerName), UserRef.of(acceptedById, acceptedByName), completedAt);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.sitswap.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record RecurringScheduleForm(
+        Long petId,
+        String description,
+        String location,
+        Double latitude,
+        Double longitude,
+        Set<DayOfWeek> days,
+        LocalTime startTime,
+        Integer durationMinutes,
+        LocalDate startsOn,
+        LocalDate endsOn) {
+}
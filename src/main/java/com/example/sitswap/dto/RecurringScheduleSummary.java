@@ -0,0 +1,31 @@
+package com.example.sitswap.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import com.example.sitswap.model.RecurringDogsitSchedule;
+
+public record RecurringScheduleSummary(
+        Long id,
+        Long petId,
+        String petName,
+        String description,
+        String location,
+        Set<DayOfWeek> days,
+        LocalTime startTime,
+        Integer durationMinutes,
+        LocalDate startsOn,
+        LocalDate endsOn,
+        LocalDate materializedThrough,
+        Boolean active) {
+
+    public static RecurringScheduleSummary from(RecurringDogsitSchedule schedule){
+        return new RecurringScheduleSummary(schedule.getId(),
+            schedule.getPet() == null ? null : schedule.getPet().getId(), schedule.getPetName(),
+            schedule.getDescription(), schedule.getLocation(), schedule.getDays(), schedule.getStartTimeOfDay(),
+            schedule.getDurationMinutes(), schedule.getStartsOn(), schedule.getEndsOn(),
+            schedule.getMaterializedThrough(), schedule.getActive());
+    }
+}
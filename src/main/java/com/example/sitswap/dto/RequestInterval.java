@@ -0,0 +1,9 @@
+package com.example.sitswap.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+
+public record RequestInterval(Long id, LocalDateTime startTime, LocalDateTime endTime, RequestStatus status,
+        Long ownerId, Long acceptedById) {
+}
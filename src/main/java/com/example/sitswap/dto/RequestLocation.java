@@ -0,0 +1,4 @@
+package com.example.sitswap.dto;
+
+public record RequestLocation(Long id, Double latitude, Double longitude) {
+}
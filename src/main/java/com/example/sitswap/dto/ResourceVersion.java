@@ -0,0 +1,40 @@
+package com.example.sitswap.dto;
+
+import java.time.Instant;
+
+/**
+ * Validators for a single entity or a whole collection: row count, summed @Version values and the newest update time.
+ * Any insert, update or delete changes at least one of the three.
+ */
+public record ResourceVersion(Long count, Long versionSum, Instant lastModified) {
+
+    // For collections whose rows embed joined entities: the newest of the row and join update times.
+    public ResourceVersion(Long count, Long versionSum, Instant rowsModified, Instant ownersModified, Instant sittersModified,
+            Instant petsModified){
+        this(count, versionSum, latest(rowsModified, ownersModified, sittersModified, petsModified));
+    }
+
+    public static ResourceVersion of(Long version, Instant updatedAt){
+        return new ResourceVersion(1L, version, updatedAt);
+    }
+
+    // Weak, because Tomcat may gzip the body and a strong tag would then be wrong.
+    public String etag(){
+        return "W/\"" + count + "-" + (versionSum == null ? 0 : versionSum) + "-"
+            + (lastModified == null ? 0 : lastModified.toEpochMilli()) + "\"";
+    }
+
+    public long lastModifiedMillis(){
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static Instant latest(Instant... instants){
+        Instant latest = null;
+        for(Instant instant : instants){
+            if(instant != null && (latest == null || instant.isAfter(latest))){
+                latest = instant;
+            }
+        }
+        return latest;
+    }
+}
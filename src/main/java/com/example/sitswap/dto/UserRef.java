@@ -0,0 +1,8 @@
+package com.example.sitswap.dto;
+
+public record UserRef(Long id, String name) {
+
+    public static UserRef of(Long id, String name){
+        return id == null ? null : new UserRef(id, name);
+    }
+}
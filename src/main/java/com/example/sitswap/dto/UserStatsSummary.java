@@ -0,0 +1,28 @@
+package com.example.sitswap.dto;
+
+import com.example.sitswap.model.UserStats;
+
+/**
+ * Dashboard counts for one user: requests they own by state, sits they have taken by state, and the points that
+ * moved through completed sits.
+ */
+public record UserStatsSummary(
+        Long userId,
+        int pendingRequests,
+        int bookedRequests,
+        int completedRequests,
+        int upcomingSits,
+        int completedSits,
+        long pointsEarned,
+        long pointsSpent) {
+
+    public static UserStatsSummary from(UserStats stats){
+        return new UserStatsSummary(stats.getUserId(), stats.getPendingRequests(), stats.getBookedRequests(),
+            stats.getCompletedRequests(), stats.getUpcomingSits(), stats.getCompletedSits(),
+            stats.getPointsEarned(), stats.getPointsSpent());
+    }
+
+    public static UserStatsSummary empty(Long userId){
+        return new UserStatsSummary(userId, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
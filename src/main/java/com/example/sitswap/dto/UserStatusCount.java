@@ -0,0 +1,6 @@
+package com.example.sitswap.dto;
+
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+
+public record UserStatusCount(Long userId, RequestStatus status, Long count) {
+}
@@ -0,0 +1,4 @@
+package com.example.sitswap.dto;
+
+public record UserSummary(Long id, String name, String username) {
+}
@@ -0,0 +1,4 @@
+package com.example.sitswap.dto;
+
+public record UserTotal(Long userId, Long total) {
+}
@@ -0,0 +1,152 @@
+package com.example.sitswap.event;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.sitswap.event.DogsitRequestEvent.Type;
+
+@Component
+public class DogsitEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(DogsitEventBroadcaster.class);
+
+    public record SubscriptionFilter(Long ownerId, Long acceptedById, Set<Type> types) {
+
+        boolean matches(DogsitRequestEvent event){
+            if(ownerId != null && !ownerId.equals(event.ownerId())){
+                return false;
+            }
+            if(acceptedById != null && !acceptedById.equals(event.acceptedById())){
+                return false;
+            }
+            return types == null || types.isEmpty() || types.contains(event.type());
+        }
+    }
+
+    private final TaskExecutor dispatchExecutor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public DogsitEventBroadcaster(@Qualifier("sseDispatchExecutor") TaskExecutor dispatchExecutor,
+            @Value("${sitswap.stream.buffer-size:256}") int bufferSize,
+            @Value("${sitswap.stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${sitswap.stream.timeout-ms:1800000}") long timeoutMillis){
+        this.dispatchExecutor = dispatchExecutor;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(SubscriptionFilter filter){
+        if(subscribers.size() >= maxSubscribers){
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(DogsitRequestEvent event){
+        for(Subscriber subscriber : subscribers){
+            if(!subscriber.filter.matches(event)){
+                continue;
+            }
+            if(!subscriber.queue.offer(event)){
+                subscriber.overflowed = true;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    public int getSubscriberCount(){
+        return subscribers.size();
+    }
+
+    private void schedule(Subscriber subscriber){
+        if(!subscriber.draining.compareAndSet(false, true)){
+            return;
+        }
+        try {
+            dispatchExecutor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber){
+        while(true){
+            if(subscriber.overflowed){
+                // The client fell too far behind; tell it to refetch instead of buffering without bound.
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name("RESYNC").data("{}", MediaType.APPLICATION_JSON));
+                    subscriber.emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    subscriber.emitter.completeWithError(e);
+                }
+                return;
+            }
+
+            DogsitRequestEvent event = subscriber.queue.poll();
+            if(event == null){
+                subscriber.draining.set(false);
+                if(subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)){
+                    return;
+                }
+                continue;
+            }
+
+            try {
+                subscriber.emitter.send(SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(event.type().name())
+                    .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping SSE subscriber after send failure", e);
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final SubscriptionFilter filter;
+        private final BlockingQueue<DogsitRequestEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(SseEmitter emitter, SubscriptionFilter filter, int bufferSize){
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.sitswap.event;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DogsitRequestEvent(
+        Type type,
+        Long requestId,
+        RequestStatus status,
+        Long ownerId,
+        Long acceptedById,
+        DogsitRequestSummary request) {
+
+    public enum Type {
+        CREATED,
+        ACCEPTED,
+        COMPLETED
+    }
+
+    public static DogsitRequestEvent created(DogsitRequestSummary request){
+        return new DogsitRequestEvent(Type.CREATED, request.id(), request.status(),
+            request.owner() == null ? null : request.owner().id(), null, request);
+    }
+
+    public static DogsitRequestEvent accepted(Long requestId, Long ownerId, Long acceptedById){
+        return new DogsitRequestEvent(Type.ACCEPTED, requestId, RequestStatus.ACCEPTED, ownerId, acceptedById, null);
+    }
+
+    public static DogsitRequestEvent completed(Long requestId, Long ownerId, Long acceptedById){
+        return new DogsitRequestEvent(Type.COMPLETED, requestId, RequestStatus.COMPLETED, ownerId, acceptedById, null);
+    }
+}
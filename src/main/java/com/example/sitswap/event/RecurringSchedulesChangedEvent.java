@@ -0,0 +1,4 @@
+package com.example.sitswap.event;
+
+public record RecurringSchedulesChangedEvent(Long scheduleId) {
+}
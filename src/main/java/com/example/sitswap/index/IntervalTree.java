@@ -0,0 +1,211 @@
+package com.example.sitswap.index;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * AVL tree of half-open [start, end) intervals keyed by (start, id), with each node tracking the largest end in its subtree.
+ * Not thread-safe; callers guard access.
+ */
+class IntervalTree {
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id){
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size(){
+        return size;
+    }
+
+    void clear(){
+        root = null;
+        size = 0;
+    }
+
+    void insert(long start, long end, long id){
+        root = insert(root, start, end, id);
+    }
+
+    void remove(long start, long id){
+        root = remove(root, start, id);
+    }
+
+    boolean overlaps(long from, long to){
+        Node node = root;
+        while(node != null){
+            if(node.start < to && node.end > from){
+                return true;
+            }
+            // If the left subtree reaches past from it must hold an overlap whenever any node does.
+            if(node.left != null && node.left.maxEnd > from){
+                node = node.left;
+            } else if(node.start < to){
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    void collectOverlapping(long from, long to, List<Long> ids){
+        collectOverlapping(root, from, to, ids);
+    }
+
+    void collectContained(long from, long to, int limit, List<Long> ids, LongPredicate filter){
+        collectContained(root, from, to, limit, ids, filter);
+    }
+
+    private void collectOverlapping(Node node, long from, long to, List<Long> ids){
+        if(node == null || node.maxEnd <= from){
+            return;
+        }
+        collectOverlapping(node.left, from, to, ids);
+        if(node.start < to){
+            if(node.end > from){
+                ids.add(node.id);
+            }
+            collectOverlapping(node.right, from, to, ids);
+        }
+    }
+
+    private void collectContained(Node node, long from, long to, int limit, List<Long> ids, LongPredicate filter){
+        if(node == null || ids.size() >= limit){
+            return;
+        }
+        if(node.start >= from){
+            collectContained(node.left, from, to, limit, ids, filter);
+        }
+        if(ids.size() < limit && node.start >= from && node.start < to && node.end <= to && filter.test(node.id)){
+            ids.add(node.id);
+        }
+        if(node.start < to){
+            collectContained(node.right, from, to, limit, ids, filter);
+        }
+    }
+
+    private Node insert(Node node, long start, long end, long id){
+        if(node == null){
+            size++;
+            return new Node(start, end, id);
+        }
+        int order = compare(start, id, node);
+        if(order < 0){
+            node.left = insert(node.left, start, end, id);
+        } else if(order > 0){
+            node.right = insert(node.right, start, end, id);
+        } else {
+            return node;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, long id){
+        if(node == null){
+            return null;
+        }
+        int order = compare(start, id, node);
+        if(order < 0){
+            node.left = remove(node.left, start, id);
+        } else if(order > 0){
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if(node.left == null){
+                return node.right;
+            }
+            if(node.right == null){
+                return node.left;
+            }
+            Node successor = node.right;
+            while(successor.left != null){
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node){
+        if(node.left == null){
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, long id, Node node){
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node){
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if(skew > 1){
+            if(height(node.left.left) < height(node.left.right)){
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if(skew < -1){
+            if(height(node.right.right) < height(node.right.left)){
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node){
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node){
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node){
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if(node.left != null){
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if(node.right != null){
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node){
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.sitswap.index;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.event.DogsitRequestEvent;
+import com.example.sitswap.event.RecurringSchedulesChangedEvent;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.service.RecurringScheduleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Materialized copy of the PENDING board, pending requests merged with the upcoming recurring occurrences, kept
+ * current by request and schedule events rather than by expiry. The JSON body and its ETag are rendered once per
+ * change, so reads only hand out the same byte array.
+ */
+@Component
+public class PendingBoardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingBoardCache.class);
+
+    private static final Comparator<DogsitRequestSummary> BOARD_ORDER = Comparator
+        .comparing(DogsitRequestSummary::startTime, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(DogsitRequestSummary::id, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+        .thenComparing(DogsitRequestSummary::scheduleId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+
+    public record Snapshot(byte[] json, String etag, int size) {
+    }
+
+    // Virtual occurrences drop off once they start, so the rendered board is only good until the earliest one does.
+    private record BoardSnapshot(Snapshot snapshot, LocalDateTime staleAt) {
+    }
+
+    private final DogsitRequestRepository dogsitRepo;
+    private final RecurringScheduleService scheduleService;
+    private final ObjectMapper objectMapper;
+
+    // Guarded by this; writes are rare next to reads, which only touch the volatile snapshot.
+    private final Map<Long, DogsitRequestSummary> requests = new HashMap<>();
+    private List<DogsitRequestSummary> virtual = List.of();
+    private Set<Long> removedDuringRebuild;
+    private boolean ready;
+    private volatile BoardSnapshot snapshot;
+
+    public PendingBoardCache(DogsitRequestRepository dogsitRepo, RecurringScheduleService scheduleService, ObjectMapper objectMapper){
+        this.dogsitRepo = dogsitRepo;
+        this.scheduleService = scheduleService;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        synchronized(this){
+            requests.clear();
+            removedDuringRebuild = new HashSet<>();
+        }
+        List<DogsitRequestSummary> loaded = dogsitRepo.findSummariesByStatus(RequestStatus.PENDING);
+        List<DogsitRequestSummary> occurrences = scheduleService.getVirtualOccurrences();
+        synchronized(this){
+            // Requests created while loading are already in the map, and ones accepted meanwhile must not come back.
+            for(DogsitRequestSummary request : loaded){
+                if(!removedDuringRebuild.contains(request.id())){
+                    requests.putIfAbsent(request.id(), request);
+                }
+            }
+            removedDuringRebuild = null;
+            virtual = occurrences;
+            ready = true;
+            snapshot = null;
+        }
+        log.info("Cached {} pending requests and {} upcoming recurring occurrences", loaded.size(), occurrences.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestEvent(DogsitRequestEvent event){
+        synchronized(this){
+            if(event.type() == DogsitRequestEvent.Type.CREATED){
+                DogsitRequestSummary request = event.request();
+                if(request == null || request.status() != RequestStatus.PENDING){
+                    return;
+                }
+                requests.put(request.id(), request);
+                if(request.scheduleId() != null){
+                    removeOccurrence(request.scheduleId(), request.startTime());
+                }
+            } else {
+                requests.remove(event.requestId());
+                if(removedDuringRebuild != null){
+                    removedDuringRebuild.add(event.requestId());
+                }
+            }
+            snapshot = null;
+        }
+    }
+
+    // The committed transaction's session is still bound here, so the reload needs its own.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onSchedulesChanged(RecurringSchedulesChangedEvent event){
+        List<DogsitRequestSummary> occurrences = scheduleService.getVirtualOccurrences();
+        synchronized(this){
+            virtual = occurrences;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Returns the current board, or null until the startup load has finished.
+     */
+    public Snapshot snapshot(){
+        BoardSnapshot current = snapshot;
+        if(current != null && current.staleAt().isAfter(LocalDateTime.now())){
+            return current.snapshot();
+        }
+        synchronized(this){
+            if(!ready){
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if(snapshot == null || !snapshot.staleAt().isAfter(now)){
+                virtual = virtual.stream().filter(occurrence -> occurrence.startTime().isAfter(now)).toList();
+                List<DogsitRequestSummary> board = new ArrayList<>(requests.size() + virtual.size());
+                board.addAll(requests.values());
+                board.addAll(virtual);
+                board.sort(BOARD_ORDER);
+                LocalDateTime staleAt = virtual.isEmpty() ? LocalDateTime.MAX : virtual.get(0).startTime();
+                snapshot = new BoardSnapshot(render(board), staleAt);
+            }
+            return snapshot.snapshot();
+        }
+    }
+
+    // A materialized occurrence arrives as a CREATED request before the schedule refresh, so it would otherwise be
+    // listed twice until then. Called with the lock held.
+    private void removeOccurrence(Long scheduleId, LocalDateTime startTime){
+        virtual = virtual.stream()
+            .filter(occurrence -> !(occurrence.scheduleId().equals(scheduleId) && occurrence.startTime().equals(startTime)))
+            .toList();
+    }
+
+    private Snapshot render(List<?> entries){
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entries);
+            return new Snapshot(json, etagOf(json), entries.size());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the pending board", e);
+        }
+    }
+
+    private static String etagOf(byte[] json){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.sitswap.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.RequestLocation;
+import com.example.sitswap.event.DogsitRequestEvent;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.repository.DogsitRequestRepository;
+
+/**
+ * Fixed-size lat/lon grid over PENDING requests that have coordinates.
+ * A lookup only visits cells in rings around the query point, so its cost depends on local density, not on the total number of requests.
+ */
+@Component
+public class PendingRequestGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingRequestGeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double MIN_COS_LATITUDE = 0.01;
+
+    public record Match(Long id, double distanceKm) {
+    }
+
+    private record Point(double latitude, double longitude, long cell) {
+    }
+
+    private final DogsitRequestRepository dogsitRepo;
+    private final double cellDegrees;
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    public PendingRequestGeoIndex(DogsitRequestRepository dogsitRepo,
+            @Value("${sitswap.geo.cell-size-degrees:0.01}") double cellDegrees){
+        this.dogsitRepo = dogsitRepo;
+        this.cellDegrees = cellDegrees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        points.clear();
+        cells.clear();
+        List<RequestLocation> locations = dogsitRepo.findLocationsByStatus(RequestStatus.PENDING);
+        for(RequestLocation location : locations){
+            put(location.id(), location.latitude(), location.longitude());
+        }
+        log.info("Indexed {} pending request locations", locations.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestEvent(DogsitRequestEvent event){
+        if(event.type() == DogsitRequestEvent.Type.CREATED){
+            DogsitRequestSummary request = event.request();
+            if(request != null && request.status() == RequestStatus.PENDING
+                    && request.latitude() != null && request.longitude() != null){
+                put(request.id(), request.latitude(), request.longitude());
+            }
+        } else {
+            remove(event.requestId());
+        }
+    }
+
+    public void put(Long id, double latitude, double longitude){
+        Point point = new Point(latitude, longitude, cellKey(latitudeCell(latitude), longitudeCell(longitude)));
+        Point previous = points.put(id, point);
+        if(previous != null && previous.cell() != point.cell()){
+            removeFromCell(previous.cell(), id);
+        }
+        cells.compute(point.cell(), (key, ids) -> {
+            Set<Long> members = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            members.add(id);
+            return members;
+        });
+    }
+
+    public void remove(Long id){
+        Point point = points.remove(id);
+        if(point != null){
+            removeFromCell(point.cell(), id);
+        }
+    }
+
+    public int size(){
+        return points.size();
+    }
+
+    public List<Match> nearest(double latitude, double longitude, double radiusKm, int limit){
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::distanceKm).reversed());
+
+        double latitudeCellKm = cellDegrees * KM_PER_DEGREE;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        double longitudeCellKm = latitudeCellKm * Math.max(MIN_COS_LATITUDE, Math.cos(Math.toRadians(farthestLatitude)));
+        double ringKm = Math.min(latitudeCellKm, longitudeCellKm);
+        int maxRing = (int) Math.ceil(radiusKm / ringKm) + 1;
+
+        int centerLat = latitudeCell(latitude);
+        int centerLon = longitudeCell(longitude);
+        for(int ring = 0; ring <= maxRing; ring++){
+            // Every point in this ring is at least (ring - 1) cells away along one axis.
+            double ringMinKm = Math.max(0, ring - 1) * ringKm;
+            if(ringMinKm > radiusKm || (best.size() >= limit && ringMinKm > best.peek().distanceKm())){
+                break;
+            }
+            for(int dLat = -ring; dLat <= ring; dLat++){
+                boolean edgeRow = dLat == -ring || dLat == ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for(int dLon = -ring; dLon <= ring; dLon += Math.max(1, step)){
+                    collect(cellKey(centerLat + dLat, centerLon + dLon), latitude, longitude, radiusKm, limit, best);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparing(Match::id));
+        return matches;
+    }
+
+    private void collect(long cell, double latitude, double longitude, double radiusKm, int limit, PriorityQueue<Match> best){
+        Set<Long> ids = cells.get(cell);
+        if(ids == null){
+            return;
+        }
+        for(Long id : ids){
+            Point point = points.get(id);
+            if(point == null){
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if(distance > radiusKm){
+                continue;
+            }
+            if(best.size() < limit){
+                best.add(new Match(id, distance));
+            } else if(distance < best.peek().distanceKm()){
+                best.poll();
+                best.add(new Match(id, distance));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, Long id){
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private int latitudeCell(double latitude){
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int longitudeCell(double longitude){
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell){
+        return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2){
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
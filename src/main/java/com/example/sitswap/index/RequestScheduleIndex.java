@@ -0,0 +1,213 @@
+package com.example.sitswap.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.RequestInterval;
+import com.example.sitswap.event.DogsitRequestEvent;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.repository.DogsitRequestRepository;
+
+/**
+ * Interval trees over PENDING requests and over each sitter's ACCEPTED sits.
+ * Accepting reserves the slot here first so two overlapping accepts by the same sitter cannot both pass the check.
+ */
+@Component
+public class RequestScheduleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestScheduleIndex.class);
+
+    public enum Reservation {
+        RESERVED,
+        CONFLICT,
+        // Another accept holds the slot and has not committed; if it rolls back the request is open again.
+        IN_FLIGHT,
+        UNTRACKED
+    }
+
+    private record Entry(long start, long end, Long ownerId) {
+    }
+
+    private final DogsitRequestRepository dogsitRepo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Long> sitters = new HashMap<>();
+    private final IntervalTree pending = new IntervalTree();
+    private final Map<Long, IntervalTree> accepted = new HashMap<>();
+
+    public RequestScheduleIndex(DogsitRequestRepository dogsitRepo){
+        this.dogsitRepo = dogsitRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        List<RequestInterval> intervals = dogsitRepo.findIntervalsByStatusIn(List.of(RequestStatus.PENDING, RequestStatus.ACCEPTED));
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            sitters.clear();
+            accepted.clear();
+            pending.clear();
+            for(RequestInterval interval : intervals){
+                addPending(interval.id(), interval.startTime(), interval.endTime(), interval.ownerId());
+                if(interval.status() == RequestStatus.ACCEPTED && interval.acceptedById() != null){
+                    assign(interval.id(), interval.acceptedById());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} pending and accepted request intervals", intervals.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestEvent(DogsitRequestEvent event){
+        lock.writeLock().lock();
+        try {
+            switch(event.type()){
+                case CREATED -> {
+                    DogsitRequestSummary request = event.request();
+                    if(request != null && request.status() == RequestStatus.PENDING){
+                        addPending(request.id(), request.startTime(), request.endTime(), event.ownerId());
+                    }
+                }
+                case ACCEPTED -> assign(event.requestId(), event.acceptedById());
+                case COMPLETED -> forget(event.requestId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Reservation reserve(Long requestId, Long sitterId){
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(requestId);
+            if(entry == null){
+                return Reservation.UNTRACKED;
+            }
+            // The caller's own sits are checked first: a slot held by someone else may still be released to them.
+            IntervalTree sits = accepted.get(sitterId);
+            if(sits != null && sits.overlaps(entry.start(), entry.end()) && !sitterId.equals(sitters.get(requestId))){
+                return Reservation.CONFLICT;
+            }
+            if(sitters.containsKey(requestId)){
+                return Reservation.IN_FLIGHT;
+            }
+            assign(requestId, sitterId);
+            return Reservation.RESERVED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(Long requestId, Long sitterId){
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(requestId);
+            if(entry == null || !sitterId.equals(sitters.get(requestId))){
+                return;
+            }
+            unassign(requestId, entry);
+            pending.insert(entry.start(), entry.end(), requestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasConflict(Long sitterId, LocalDateTime from, LocalDateTime to){
+        lock.readLock().lock();
+        try {
+            IntervalTree sits = accepted.get(sitterId);
+            return sits != null && sits.overlaps(toEpoch(from), toEpoch(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findPendingWithin(LocalDateTime from, LocalDateTime to, Long sitterId, int limit){
+        lock.readLock().lock();
+        try {
+            IntervalTree sits = sitterId == null ? null : accepted.get(sitterId);
+            List<Long> ids = new ArrayList<>();
+            pending.collectContained(toEpoch(from), toEpoch(to), limit, ids, id -> {
+                if(sitterId == null){
+                    return true;
+                }
+                Entry entry = entries.get(id);
+                return !sitterId.equals(entry.ownerId()) && (sits == null || !sits.overlaps(entry.start(), entry.end()));
+            });
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPending(Long requestId, LocalDateTime startTime, LocalDateTime endTime, Long ownerId){
+        if(startTime == null || endTime == null || !endTime.isAfter(startTime) || entries.containsKey(requestId)){
+            return;
+        }
+        Entry entry = new Entry(toEpoch(startTime), toEpoch(endTime), ownerId);
+        entries.put(requestId, entry);
+        pending.insert(entry.start(), entry.end(), requestId);
+    }
+
+    private void assign(Long requestId, Long sitterId){
+        Entry entry = entries.get(requestId);
+        if(entry == null || sitterId == null){
+            return;
+        }
+        Long current = sitters.get(requestId);
+        if(sitterId.equals(current)){
+            return;
+        }
+        if(current != null){
+            unassign(requestId, entry);
+        } else {
+            pending.remove(entry.start(), requestId);
+        }
+        sitters.put(requestId, sitterId);
+        accepted.computeIfAbsent(sitterId, key -> new IntervalTree()).insert(entry.start(), entry.end(), requestId);
+    }
+
+    private void unassign(Long requestId, Entry entry){
+        Long sitterId = sitters.remove(requestId);
+        IntervalTree sits = sitterId == null ? null : accepted.get(sitterId);
+        if(sits != null){
+            sits.remove(entry.start(), requestId);
+            if(sits.size() == 0){
+                accepted.remove(sitterId);
+            }
+        }
+    }
+
+    private void forget(Long requestId){
+        Entry entry = entries.remove(requestId);
+        if(entry == null){
+            return;
+        }
+        if(sitters.containsKey(requestId)){
+            unassign(requestId, entry);
+        } else {
+            pending.remove(entry.start(), requestId);
+        }
+    }
+
+    private static long toEpoch(LocalDateTime time){
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -1,27 +1,50 @@
 package com.example.sitswap.model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
-@Table
+@Table(indexes = {
+    @Index(name = "idx_dogsit_status_start", columnList = "status, start_time, id"),
+    @Index(name = "idx_dogsit_owner_status_start", columnList = "owner_id, status, start_time, id"),
+    @Index(name = "idx_dogsit_status_size_energy_start", columnList = "status, pet_size, pet_energy_level, start_time, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dogsit_schedule_start", columnNames = {"schedule_id", "start_time"})
+})
 public class DogsitRequest {
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dogsit_request_seq")
+    @SequenceGenerator(name = "dogsit_request_seq", sequenceName = "dogsit_request_seq", allocationSize = 50)
     private Long id;
     private String description;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private String petName;
     private String petBreed;
     private Integer petAge;
@@ -31,16 +54,19 @@ public class DogsitRequest {
     private String petEnergyLevel;
     private String petImageUrl;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Pet pet;
     
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User acceptedBy;
 
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
     public enum RequestStatus{
         PENDING,
         ACCEPTED,
@@ -50,6 +76,21 @@ public class DogsitRequest {
     @Enumerated(EnumType.STRING)
     private RequestStatus status;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant completedAt;
+
     public DogsitRequest() {
         this.status = RequestStatus.PENDING;
     }
@@ -173,6 +214,30 @@ public class DogsitRequest {
         this.location = location;
     }
 
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public User getOwner() {
         return owner;
     }
@@ -197,6 +262,30 @@ public class DogsitRequest {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
     public Long getDurationHours(){
         if(startTime != null && endTime != null){
             return java.time.Duration.between(startTime, endTime).toHours();
@@ -0,0 +1,143 @@
+package com.example.sitswap.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A completed request after RequestArchiver has moved it out of dogsit_request. Rows are only ever written by the
+ * archiver's insert-select, so users and pets are kept as plain ids rather than associations.
+ */
+@Entity
+@Immutable
+@Table(name = "dogsit_request_history")
+public class DogsitRequestHistory {
+    @Id
+    private Long id;
+    private String description;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+
+    private String petName;
+    private String petBreed;
+    private Integer petAge;
+    private String petSize;
+    private String petDescription;
+    private String petSpecialNeeds;
+    private String petEnergyLevel;
+    private String petImageUrl;
+
+    @Column(name = "pet_id")
+    private Long petId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "accepted_by_id")
+    private Long acceptedById;
+
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public DogsitRequestHistory() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getPetName() {
+        return petName;
+    }
+
+    public String getPetBreed() {
+        return petBreed;
+    }
+
+    public Integer getPetAge() {
+        return petAge;
+    }
+
+    public String getPetSize() {
+        return petSize;
+    }
+
+    public String getPetDescription() {
+        return petDescription;
+    }
+
+    public String getPetSpecialNeeds() {
+        return petSpecialNeeds;
+    }
+
+    public String getPetEnergyLevel() {
+        return petEnergyLevel;
+    }
+
+    public String getPetImageUrl() {
+        return petImageUrl;
+    }
+
+    public Long getPetId() {
+        return petId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getAcceptedById() {
+        return acceptedById;
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sitswap.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "points_transaction", indexes = {
+    @Index(name = "idx_points_tx_from_user", columnList = "from_user_id, created_at"),
+    @Index(name = "idx_points_tx_to_user", columnList = "to_user_id, created_at")
+})
+public class PointsTransaction {
+
+    public enum TransactionType {
+        TRANSFER,
+        ADJUSTMENT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_transaction_seq")
+    @SequenceGenerator(name = "points_transaction_seq", sequenceName = "points_transaction_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "from_user_id", updatable = false)
+    private Long fromUserId;
+
+    @Column(name = "to_user_id", updatable = false)
+    private Long toUserId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private TransactionType type;
+
+    @Column(name = "dogsit_request_id", updatable = false)
+    private Long dogsitRequestId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PointsTransaction() {
+    }
+
+    public PointsTransaction(Long fromUserId, Long toUserId, Integer amount, TransactionType type, Long dogsitRequestId) {
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.amount = amount;
+        this.type = type;
+        this.dogsitRequestId = dogsitRequestId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFromUserId() {
+        return fromUserId;
+    }
+
+    public Long getToUserId() {
+        return toUserId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Long getDogsitRequestId() {
+        return dogsitRequestId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
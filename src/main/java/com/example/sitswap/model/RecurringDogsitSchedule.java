@@ -0,0 +1,276 @@
+package com.example.sitswap.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "recurring_dogsit_schedule", indexes = {
+    @Index(name = "idx_schedule_active_materialized", columnList = "active, materialized_through"),
+    @Index(name = "idx_schedule_owner", columnList = "owner_id")
+})
+public class RecurringDogsitSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_dogsit_schedule_seq")
+    @SequenceGenerator(name = "recurring_dogsit_schedule_seq", sequenceName = "recurring_dogsit_schedule_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private User owner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Pet pet;
+
+    private String description;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+
+    private String petName;
+    private String petBreed;
+    private Integer petAge;
+    private String petSize;
+    private String petDescription;
+    private String petSpecialNeeds;
+    private String petEnergyLevel;
+    private String petImageUrl;
+
+    // Bit n set means DayOfWeek.of(n + 1), so Monday is bit 0.
+    @Column(name = "days_of_week", nullable = false)
+    private Integer daysOfWeek;
+
+    @Column(name = "start_time_of_day", nullable = false)
+    private LocalTime startTimeOfDay;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(name = "starts_on", nullable = false)
+    private LocalDate startsOn;
+
+    @Column(name = "ends_on")
+    private LocalDate endsOn;
+
+    @Column(name = "materialized_through")
+    private LocalDate materializedThrough;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    public RecurringDogsitSchedule() {
+    }
+
+    public boolean occursOn(LocalDate date){
+        if(date.isBefore(startsOn) || (endsOn != null && date.isAfter(endsOn))){
+            return false;
+        }
+        return (daysOfWeek & (1 << (date.getDayOfWeek().getValue() - 1))) != 0;
+    }
+
+    public Set<DayOfWeek> getDays(){
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for(DayOfWeek day : DayOfWeek.values()){
+            if((daysOfWeek & (1 << (day.getValue() - 1))) != 0){
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public void setDays(Set<DayOfWeek> days){
+        int mask = 0;
+        for(DayOfWeek day : days){
+            mask |= 1 << (day.getValue() - 1);
+        }
+        this.daysOfWeek = mask;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public void setOwner(User owner) {
+        this.owner = owner;
+    }
+
+    public Pet getPet() {
+        return pet;
+    }
+
+    public void setPet(Pet pet) {
+        this.pet = pet;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getPetName() {
+        return petName;
+    }
+
+    public void setPetName(String petName) {
+        this.petName = petName;
+    }
+
+    public String getPetBreed() {
+        return petBreed;
+    }
+
+    public void setPetBreed(String petBreed) {
+        this.petBreed = petBreed;
+    }
+
+    public Integer getPetAge() {
+        return petAge;
+    }
+
+    public void setPetAge(Integer petAge) {
+        this.petAge = petAge;
+    }
+
+    public String getPetSize() {
+        return petSize;
+    }
+
+    public void setPetSize(String petSize) {
+        this.petSize = petSize;
+    }
+
+    public String getPetDescription() {
+        return petDescription;
+    }
+
+    public void setPetDescription(String petDescription) {
+        this.petDescription = petDescription;
+    }
+
+    public String getPetSpecialNeeds() {
+        return petSpecialNeeds;
+    }
+
+    public void setPetSpecialNeeds(String petSpecialNeeds) {
+        this.petSpecialNeeds = petSpecialNeeds;
+    }
+
+    public String getPetEnergyLevel() {
+        return petEnergyLevel;
+    }
+
+    public void setPetEnergyLevel(String petEnergyLevel) {
+        this.petEnergyLevel = petEnergyLevel;
+    }
+
+    public String getPetImageUrl() {
+        return petImageUrl;
+    }
+
+    public void setPetImageUrl(String petImageUrl) {
+        this.petImageUrl = petImageUrl;
+    }
+
+    public Integer getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Integer daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public LocalTime getStartTimeOfDay() {
+        return startTimeOfDay;
+    }
+
+    public void setStartTimeOfDay(LocalTime startTimeOfDay) {
+        this.startTimeOfDay = startTimeOfDay;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getStartsOn() {
+        return startsOn;
+    }
+
+    public void setStartsOn(LocalDate startsOn) {
+        this.startsOn = startsOn;
+    }
+
+    public LocalDate getEndsOn() {
+        return endsOn;
+    }
+
+    public void setEndsOn(LocalDate endsOn) {
+        this.endsOn = endsOn;
+    }
+
+    public LocalDate getMaterializedThrough() {
+        return materializedThrough;
+    }
+
+    public void setMaterializedThrough(LocalDate materializedThrough) {
+        this.materializedThrough = materializedThrough;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
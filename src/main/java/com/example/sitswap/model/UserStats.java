@@ -0,0 +1,91 @@
+package com.example.sitswap.model;
+
+import java.time.Instant;
+
+import com.example.sitswap.dto.UserStatsSummary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running dashboard totals for one user. Changes go through UserStatsRepository's bulk increment so concurrent
+ * requests never overwrite each other; only UserStatsReconciler writes whole values, with the row locked.
+ */
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private int pendingRequests;
+    private int bookedRequests;
+    private int completedRequests;
+    private int upcomingSits;
+    private int completedSits;
+    private long pointsEarned;
+    private long pointsSpent;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "corrected_at")
+    private Instant correctedAt;
+
+    public UserStats() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    public int getBookedRequests() {
+        return bookedRequests;
+    }
+
+    public int getCompletedRequests() {
+        return completedRequests;
+    }
+
+    public int getUpcomingSits() {
+        return upcomingSits;
+    }
+
+    public int getCompletedSits() {
+        return completedSits;
+    }
+
+    public long getPointsEarned() {
+        return pointsEarned;
+    }
+
+    public long getPointsSpent() {
+        return pointsSpent;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Instant getCorrectedAt() {
+        return correctedAt;
+    }
+
+    public void correct(UserStatsSummary actual, Instant now) {
+        this.pendingRequests = actual.pendingRequests();
+        this.bookedRequests = actual.bookedRequests();
+        this.completedRequests = actual.completedRequests();
+        this.upcomingSits = actual.upcomingSits();
+        this.completedSits = actual.completedSits();
+        this.pointsEarned = actual.pointsEarned();
+        this.pointsSpent = actual.pointsSpent();
+        this.updatedAt = now;
+        this.correctedAt = now;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.sitswap.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.sitswap.dto.PastSit;
+import com.example.sitswap.dto.UserTotal;
+import com.example.sitswap.model.DogsitRequestHistory;
+
+public interface DogsitRequestHistoryRepository extends JpaRepository<DogsitRequestHistory, Long> {
+
+    @Modifying
+    @Query("insert into DogsitRequestHistory (id, description, startTime, endTime, location, latitude, longitude, "
+        + "petName, petBreed, petAge, petSize, petDescription, petSpecialNeeds, petEnergyLevel, petImageUrl, "
+        + "petId, ownerId, acceptedById, scheduleId, completedAt, archivedAt) "
+        + "select r.id, r.description, r.startTime, r.endTime, r.location, r.latitude, r.longitude, "
+        + "r.petName, r.petBreed, r.petAge, r.petSize, r.petDescription, r.petSpecialNeeds, r.petEnergyLevel, r.petImageUrl, "
+        + "r.pet.id, r.owner.id, r.acceptedBy.id, r.scheduleId, r.completedAt, instant "
+        + "from DogsitRequest r where r.id in :requestIds "
+        + "and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED")
+    int copyCompleted(Collection<Long> requestIds);
+
+    @Query("select new com.example.sitswap.dto.PastSit(h.id, h.description, h.location, h.startTime, h.endTime, "
+        + "h.petName, h.petBreed, h.petSize, h.petImageUrl, h.ownerId, o.name, h.acceptedById, a.name, h.completedAt) "
+        + "from DogsitRequestHistory h left join User o on o.id = h.ownerId left join User a on a.id = h.acceptedById "
+        + "where (h.ownerId = :userId or h.acceptedById = :userId) "
+        + "and (h.completedAt < :before or (h.completedAt = :before and h.id < :beforeId)) "
+        + "order by h.completedAt desc, h.id desc")
+    List<PastSit> findPastSits(Long userId, Instant before, Long beforeId, Limit limit);
+
+    // Live and archived rows are counted in one statement, so a batch the archiver moves meanwhile is seen exactly once.
+    @Query("select new com.example.sitswap.dto.UserTotal(c.userId, count(*)) from ("
+        + "select r.owner.id as userId from DogsitRequest r where r.owner.id in :userIds "
+        + "and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED "
+        + "union all select h.ownerId as userId from DogsitRequestHistory h where h.ownerId in :userIds) c "
+        + "group by c.userId")
+    List<UserTotal> countCompletedByOwner(Collection<Long> userIds);
+
+    @Query("select new com.example.sitswap.dto.UserTotal(c.userId, count(*)) from ("
+        + "select r.acceptedBy.id as userId from DogsitRequest r where r.acceptedBy.id in :userIds "
+        + "and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED "
+        + "union all select h.acceptedById as userId from DogsitRequestHistory h where h.acceptedById in :userIds) c "
+        + "group by c.userId")
+    List<UserTotal> countCompletedBySitter(Collection<Long> userIds);
+}
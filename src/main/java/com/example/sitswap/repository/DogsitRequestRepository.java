@@ -1,19 +1,151 @@
 package com.example.sitswap.repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import com.example.sitswap.dto.ArchiveCandidate;
+import com.example.sitswap.dto.PastSit;
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.OccurrenceKey;
+import com.example.sitswap.dto.RequestInterval;
+import com.example.sitswap.dto.RequestLocation;
+import com.example.sitswap.dto.UserStatusCount;
+import com.example.sitswap.dto.UserTotal;
 import com.example.sitswap.model.DogsitRequest;
 import com.example.sitswap.model.User;
 
-public interface DogsitRequestRepository extends JpaRepository<DogsitRequest, Long>{
+public interface DogsitRequestRepository extends JpaRepository<DogsitRequest, Long>, DogsitRequestSearchRepository{
+
+    String SUMMARY_SELECT = "select new com.example.sitswap.dto.DogsitRequestSummary("
+        + "r.id, r.description, r.location, r.latitude, r.longitude, r.startTime, r.endTime, r.status, "
+        + "r.petName, r.petBreed, r.petAge, r.petSize, r.petEnergyLevel, r.petImageUrl, "
+        + "o.id, o.name, a.id, a.name, r.scheduleId) "
+        + "from DogsitRequest r left join r.owner o left join r.acceptedBy a ";
+
+    // Summaries embed the owner's and sitter's names and describe the pet, so their versions are part of the list's
+    // validator too.
+    String VERSION_SELECT = "select new com.example.sitswap.dto.ResourceVersion("
+        + "count(r), sum(r.version) + coalesce(sum(o.version), 0) + coalesce(sum(a.version), 0) + coalesce(sum(p.version), 0), "
+        + "max(r.updatedAt), max(o.updatedAt), max(a.updatedAt), max(p.updatedAt)) "
+        + "from DogsitRequest r left join r.owner o left join r.acceptedBy a left join r.pet p ";
+
+    @Override
+    @EntityGraph(attributePaths = {"pet", "owner", "acceptedBy"})
+    List<DogsitRequest> findAll();
     
+    @EntityGraph(attributePaths = {"pet", "owner", "acceptedBy"})
     List<DogsitRequest> findByOwner(User owner);
 
+    @EntityGraph(attributePaths = {"pet", "owner", "acceptedBy"})
     List<DogsitRequest> findByStatus(String status);
 
+    @EntityGraph(attributePaths = {"pet", "owner", "acceptedBy"})
     List<DogsitRequest> findByAcceptedBy(User user);
 
+    @EntityGraph(attributePaths = {"pet", "owner", "acceptedBy"})
     List<DogsitRequest> findByStatus(DogsitRequest.RequestStatus status);
+
+    @Query("select r.id from DogsitRequest r where r.scheduleId = :scheduleId and r.startTime = :startTime")
+    Optional<Long> findIdByScheduleIdAndStartTime(Long scheduleId, LocalDateTime startTime);
+
+    @Query("select new com.example.sitswap.dto.OccurrenceKey(r.scheduleId, r.startTime) from DogsitRequest r "
+        + "where r.scheduleId in :scheduleIds and r.startTime > :after")
+    Set<OccurrenceKey> findOccurrenceKeys(Collection<Long> scheduleIds, LocalDateTime after);
+
+    @Query(SUMMARY_SELECT + "order by r.id")
+    List<DogsitRequestSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where r.status = :status order by r.startTime, r.id")
+    List<DogsitRequestSummary> findSummariesByStatus(DogsitRequest.RequestStatus status);
+
+    @Query(VERSION_SELECT)
+    ResourceVersion findResourceVersion();
+
+    @Query(VERSION_SELECT + "where r.status = :status")
+    ResourceVersion findResourceVersionByStatus(DogsitRequest.RequestStatus status);
+
+    @Query(SUMMARY_SELECT + "where r.id in :ids and r.status = :status")
+    List<DogsitRequestSummary> findSummariesByIdInAndStatus(Collection<Long> ids, DogsitRequest.RequestStatus status);
+
+    @Query("select new com.example.sitswap.dto.RequestLocation(r.id, r.latitude, r.longitude) from DogsitRequest r "
+        + "where r.status = :status and r.latitude is not null and r.longitude is not null")
+    List<RequestLocation> findLocationsByStatus(DogsitRequest.RequestStatus status);
+
+    @Query("select new com.example.sitswap.dto.RequestInterval(r.id, r.startTime, r.endTime, r.status, o.id, a.id) "
+        + "from DogsitRequest r left join r.owner o left join r.acceptedBy a "
+        + "where r.status in :statuses and r.startTime is not null and r.endTime is not null")
+    List<RequestInterval> findIntervalsByStatusIn(Collection<DogsitRequest.RequestStatus> statuses);
+
+    @Query("select new com.example.sitswap.dto.RequestInterval(r.id, r.startTime, r.endTime, r.status, o.id, a.id) "
+        + "from DogsitRequest r left join r.owner o left join r.acceptedBy a where r.id in :ids")
+    List<RequestInterval> findIntervalsByIdIn(Collection<Long> ids);
+
+    @Query("select r.id from DogsitRequest r where r.id in :ids and r.acceptedBy = :sitter "
+        + "and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED")
+    List<Long> findAcceptedIds(Collection<Long> ids, User sitter);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DogsitRequest r set r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED, "
+        + "r.version = r.version + 1, r.updatedAt = instant, r.completedAt = instant "
+        + "where r.id = :requestId and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED")
+    int markCompleted(Long requestId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DogsitRequest r set r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED, r.acceptedBy = :sitter, "
+        + "r.version = r.version + 1, r.updatedAt = instant "
+        + "where r.id = :requestId and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.PENDING "
+        + "and r.owner <> :sitter")
+    int markAccepted(Long requestId, User sitter);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DogsitRequest r set r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED, "
+        + "r.version = r.version + 1, r.updatedAt = instant, r.completedAt = instant "
+        + "where r.id in :requestIds and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED")
+    int markAllCompleted(Collection<Long> requestIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update DogsitRequest r set r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED, r.acceptedBy = :sitter, "
+        + "r.version = r.version + 1, r.updatedAt = instant "
+        + "where r.id in :requestIds and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.PENDING "
+        + "and r.owner <> :sitter")
+    int markAllAccepted(Collection<Long> requestIds, User sitter);
+
+    @Query("select new com.example.sitswap.dto.ArchiveCandidate(r.id, r.completedAt) from DogsitRequest r "
+        + "where r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED and r.completedAt < :cutoff "
+        + "order by r.completedAt, r.id")
+    List<ArchiveCandidate> findArchiveCandidates(Instant cutoff, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DogsitRequest r where r.id in :requestIds "
+        + "and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED")
+    int deleteCompleted(Collection<Long> requestIds);
+
+    @Query("select new com.example.sitswap.dto.PastSit(r.id, r.description, r.location, r.startTime, r.endTime, "
+        + "r.petName, r.petBreed, r.petSize, r.petImageUrl, o.id, o.name, a.id, a.name, r.completedAt) "
+        + "from DogsitRequest r left join r.owner o left join r.acceptedBy a "
+        + "where r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.COMPLETED and (o.id = :userId or a.id = :userId) "
+        + "and (r.completedAt < :before or (r.completedAt = :before and r.id < :beforeId)) "
+        + "order by r.completedAt desc, r.id desc")
+    List<PastSit> findPastSits(Long userId, Instant before, Long beforeId, Limit limit);
+
+    @Query("select new com.example.sitswap.dto.UserStatusCount(r.owner.id, r.status, count(r)) from DogsitRequest r "
+        + "where r.owner.id in :userIds and r.status in (com.example.sitswap.model.DogsitRequest.RequestStatus.PENDING, "
+        + "com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED) group by r.owner.id, r.status")
+    List<UserStatusCount> countOpenByOwner(Collection<Long> userIds);
+
+    @Query("select new com.example.sitswap.dto.UserTotal(r.acceptedBy.id, count(r)) from DogsitRequest r "
+        + "where r.acceptedBy.id in :userIds and r.status = com.example.sitswap.model.DogsitRequest.RequestStatus.ACCEPTED "
+        + "group by r.acceptedBy.id")
+    List<UserTotal> countUpcomingBySitter(Collection<Long> userIds);
 }
@@ -0,0 +1,10 @@
+package com.example.sitswap.repository;
+
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.DogsitRequestSearch;
+import com.example.sitswap.dto.DogsitRequestSummary;
+
+public interface DogsitRequestSearchRepository {
+
+    DogsitRequestPage<DogsitRequestSummary> search(DogsitRequestSearch search);
+}
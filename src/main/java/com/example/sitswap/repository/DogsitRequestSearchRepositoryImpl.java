@@ -0,0 +1,131 @@
+package com.example.sitswap.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.DogsitRequestSearch;
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class DogsitRequestSearchRepositoryImpl implements DogsitRequestSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public DogsitRequestPage<DogsitRequestSummary> search(DogsitRequestSearch search) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<DogsitRequestSummary> query = cb.createQuery(DogsitRequestSummary.class);
+        Root<DogsitRequest> root = query.from(DogsitRequest.class);
+        Join<DogsitRequest, User> owner = root.join("owner", JoinType.LEFT);
+        Join<DogsitRequest, User> acceptedBy = root.join("acceptedBy", JoinType.LEFT);
+
+        Path<LocalDateTime> startTime = root.get("startTime");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if(search.ownerId() != null){
+            predicates.add(cb.equal(owner.get("id"), search.ownerId()));
+        }
+        if(search.excludeOwnerId() != null){
+            predicates.add(cb.notEqual(owner.get("id"), search.excludeOwnerId()));
+        }
+        if(search.status() != null){
+            predicates.add(cb.equal(root.get("status"), search.status()));
+        }
+        if(search.location() != null && !search.location().isBlank()){
+            predicates.add(cb.like(cb.lower(root.get("location")), "%" + search.location().trim().toLowerCase() + "%"));
+        }
+        if(search.from() != null){
+            predicates.add(cb.greaterThanOrEqualTo(startTime, search.from()));
+        }
+        if(search.to() != null){
+            predicates.add(cb.lessThan(startTime, search.to()));
+        }
+        if(search.petSize() != null && !search.petSize().isBlank()){
+            predicates.add(cb.equal(root.get("petSize"), search.petSize()));
+        }
+        if(search.petEnergyLevel() != null && !search.petEnergyLevel().isBlank()){
+            predicates.add(cb.equal(root.get("petEnergyLevel"), search.petEnergyLevel()));
+        }
+
+        // Requests without a start time sort last in either direction, so the keyset walks every row exactly once.
+        if(search.cursor() != null && !search.cursor().isBlank()){
+            Cursor cursor = decodeCursor(search.cursor());
+            Predicate afterId = search.descending() ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            if(cursor.startTime() == null){
+                predicates.add(cb.and(cb.isNull(startTime), afterId));
+            } else {
+                Predicate afterStart = search.descending()
+                    ? cb.lessThan(startTime, cursor.startTime())
+                    : cb.greaterThan(startTime, cursor.startTime());
+                predicates.add(cb.or(
+                    afterStart,
+                    cb.and(cb.equal(startTime, cursor.startTime()), afterId),
+                    cb.isNull(startTime)));
+            }
+        }
+
+        query.select(cb.construct(DogsitRequestSummary.class,
+                id, root.get("description"), root.get("location"), root.get("latitude"), root.get("longitude"), startTime, root.get("endTime"), root.get("status"),
+                root.get("petName"), root.get("petBreed"), root.get("petAge"), root.get("petSize"),
+                root.get("petEnergyLevel"), root.get("petImageUrl"),
+                owner.get("id"), owner.get("name"), acceptedBy.get("id"), acceptedBy.get("name"), root.get("scheduleId")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(search.descending()
+                ? List.of(cb.desc(startTime, false), cb.desc(id))
+                : List.of(cb.asc(startTime, false), cb.asc(id)));
+
+        List<DogsitRequestSummary> rows = entityManager.createQuery(query)
+            .setMaxResults(search.limit() + 1)
+            .getResultList();
+
+        if(rows.size() <= search.limit()){
+            return new DogsitRequestPage<>(rows, null);
+        }
+
+        List<DogsitRequestSummary> items = rows.subList(0, search.limit());
+        DogsitRequestSummary last = items.get(items.size() - 1);
+        return new DogsitRequestPage<>(items, encodeCursor(last.startTime(), last.id()));
+    }
+
+    private record Cursor(LocalDateTime startTime, Long id) {
+    }
+
+    private static String encodeCursor(LocalDateTime startTime, Long id){
+        String raw = (startTime == null ? "" : startTime.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if(parts.length != 2){
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
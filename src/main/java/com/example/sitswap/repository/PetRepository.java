@@ -2,12 +2,26 @@ package com.example.sitswap.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.example.sitswap.dto.ResourceVersion;
 import com.example.sitswap.model.Pet;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PetRepository extends JpaRepository<Pet, Long>{
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "pets-by-user")
+    })
     List<Pet> findByUserId(Long userId);
+
+    @Query("select new com.example.sitswap.dto.ResourceVersion(count(p), sum(p.version), max(p.updatedAt)) "
+        + "from Pet p where p.user.id = :userId")
+    ResourceVersion findResourceVersionByUserId(Long userId);
 }
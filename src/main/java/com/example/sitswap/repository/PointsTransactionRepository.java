@@ -0,0 +1,25 @@
+package com.example.sitswap.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.sitswap.dto.UserTotal;
+import com.example.sitswap.model.PointsTransaction;
+
+@Repository
+public interface PointsTransactionRepository extends JpaRepository<PointsTransaction, Long>{
+
+    @Query("select new com.example.sitswap.dto.UserTotal(t.toUserId, sum(t.amount)) from PointsTransaction t "
+        + "where t.toUserId in :userIds and t.type = com.example.sitswap.model.PointsTransaction.TransactionType.TRANSFER "
+        + "group by t.toUserId")
+    List<UserTotal> sumTransfersTo(Collection<Long> userIds);
+
+    @Query("select new com.example.sitswap.dto.UserTotal(t.fromUserId, sum(t.amount)) from PointsTransaction t "
+        + "where t.fromUserId in :userIds and t.type = com.example.sitswap.model.PointsTransaction.TransactionType.TRANSFER "
+        + "group by t.fromUserId")
+    List<UserTotal> sumTransfersFrom(Collection<Long> userIds);
+}
@@ -0,0 +1,25 @@
+package com.example.sitswap.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.sitswap.model.RecurringDogsitSchedule;
+
+public interface RecurringDogsitScheduleRepository extends JpaRepository<RecurringDogsitSchedule, Long> {
+
+    List<RecurringDogsitSchedule> findByOwnerIdOrderById(Long ownerId);
+
+    @EntityGraph(attributePaths = {"owner"})
+    Optional<RecurringDogsitSchedule> findWithOwnerById(Long id);
+
+    @EntityGraph(attributePaths = {"owner"})
+    @Query("select s from RecurringDogsitSchedule s where s.active = true "
+        + "and (s.materializedThrough is null or s.materializedThrough < :horizonEnd) "
+        + "and (s.endsOn is null or s.endsOn >= :today) order by s.id")
+    List<RecurringDogsitSchedule> findBehindHorizon(LocalDate today, LocalDate horizonEnd);
+}
@@ -1,14 +1,48 @@
 package com.example.sitswap.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.dto.UserSummary;
 import com.example.sitswap.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>{
     Optional<User> findUserByEmail(String email);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
+
+    @Query("select new com.example.sitswap.dto.UserSummary(u.id, u.name, u.username) from User u order by u.id")
+    List<UserSummary> findAllSummaries();
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(Long afterId, Limit limit);
+
+    @Query("select new com.example.sitswap.dto.ResourceVersion(count(u), sum(u.version), max(u.updatedAt)) from User u")
+    ResourceVersion findResourceVersion();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.points = u.points - :amount, "
+        + "u.version = u.version + 1, u.updatedAt = instant where u.id = :userId and u.points >= :amount")
+    int debitPoints(Long userId, int amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.points = u.points + :amount, "
+        + "u.version = u.version + 1, u.updatedAt = instant where u.id = :userId")
+    int creditPoints(Long userId, int amount);
 }
@@ -0,0 +1,38 @@
+package com.example.sitswap.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.sitswap.model.UserStats;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("update UserStats s set s.pendingRequests = s.pendingRequests + :pendingRequests, "
+        + "s.bookedRequests = s.bookedRequests + :bookedRequests, "
+        + "s.completedRequests = s.completedRequests + :completedRequests, "
+        + "s.upcomingSits = s.upcomingSits + :upcomingSits, "
+        + "s.completedSits = s.completedSits + :completedSits, "
+        + "s.pointsEarned = s.pointsEarned + :pointsEarned, "
+        + "s.pointsSpent = s.pointsSpent + :pointsSpent, "
+        + "s.updatedAt = instant where s.userId = :userId")
+    int increment(Long userId, int pendingRequests, int bookedRequests, int completedRequests, int upcomingSits,
+        int completedSits, long pointsEarned, long pointsSpent);
+
+    // Only called once an increment has found no row. A concurrent first insert for the same user then waits on the
+    // key and does nothing, instead of failing the transaction. Native because Hibernate drops the HQL conflict clause
+    // on H2; H2 in PostgreSQL mode runs this statement as written.
+    @Modifying
+    @Query(value = "insert into user_stats (user_id) values (:userId) on conflict do nothing", nativeQuery = true)
+    int insertIfMissing(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserStats s where s.userId = :userId")
+    Optional<UserStats> findForUpdate(Long userId);
+}
@@ -0,0 +1,67 @@
+package com.example.sitswap.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times accept and complete, transaction commit included, with one timer series per outcome.
+ * The series' _count doubles as the outcome counter, e.g. how often a sitter lost the race for a request.
+ */
+@Component
+public class DogsitMetrics {
+
+    private final MeterRegistry registry;
+
+    public DogsitMetrics(MeterRegistry registry){
+        this.registry = registry;
+    }
+
+    public <T> T recordAccept(Supplier<T> action){
+        return record("sitswap.dogsit.accept", "accepted", action);
+    }
+
+    public <T> T recordComplete(Supplier<T> action){
+        return record("sitswap.dogsit.complete", "completed", action);
+    }
+
+    private <T> T record(String name, String success, Supplier<T> action){
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = success;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String outcomeOf(RuntimeException e){
+        if(e instanceof RequestAlreadyTakenException){
+            return "already-taken";
+        }
+        if(e instanceof ScheduleConflictException){
+            return "schedule-conflict";
+        }
+        if(e instanceof InsufficientPointsException){
+            return "insufficient-points";
+        }
+        if(e instanceof ConcurrencyFailureException){
+            return "concurrent-update";
+        }
+        return "rejected";
+    }
+}
@@ -1,14 +1,45 @@
 package com.example.sitswap.service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.sitswap.dto.BatchResult;
+import com.example.sitswap.dto.DogsitRequestForm;
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.DogsitRequestSearch;
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.NearbyDogsitRequest;
+import com.example.sitswap.dto.RequestInterval;
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.event.DogsitRequestEvent;
+import com.example.sitswap.index.PendingRequestGeoIndex;
+import com.example.sitswap.index.RequestScheduleIndex;
 import com.example.sitswap.model.DogsitRequest;
 import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
 import com.example.sitswap.model.User;
 import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
 import com.example.sitswap.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
@@ -23,73 +54,414 @@ public class DogsitRequestService {
     private UserRepository userRepo;
 
     private static final int POINTS_PER_HOUR = 10;
+    private static final int MAX_COMPLETE_ATTEMPTS = 5;
 
-    public DogsitRequestService(DogsitRequestRepository dogsitRepo){
+    private final PointsLedger pointsLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingRequestGeoIndex geoIndex;
+    private final RequestScheduleIndex scheduleIndex;
+    private final RecurringScheduleService recurringScheduleService;
+    private final DogsitMetrics dogsitMetrics;
+    private final UserStatsService statsService;
+    private final PetRepository petRepo;
+
+    public DogsitRequestService(DogsitRequestRepository dogsitRepo, PointsLedger pointsLedger, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, PendingRequestGeoIndex geoIndex, RequestScheduleIndex scheduleIndex,
+            RecurringScheduleService recurringScheduleService, DogsitMetrics dogsitMetrics, UserStatsService statsService,
+            PetRepository petRepo){
         this.dogsitRepo = dogsitRepo;
+        this.petRepo = petRepo;
+        this.pointsLedger = pointsLedger;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.geoIndex = geoIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.recurringScheduleService = recurringScheduleService;
+        this.dogsitMetrics = dogsitMetrics;
+        this.statsService = statsService;
+    }
+
+    public List<DogsitRequestSummary> getAllRequests(){
+        return dogsitRepo.findAllSummaries();
+    }
+
+    public ResourceVersion getRequestsVersion(){
+        return dogsitRepo.findResourceVersion();
+    }
+
+    public ResourceVersion getRequestsVersion(RequestStatus status){
+        return dogsitRepo.findResourceVersionByStatus(status);
+    }
+
+    public List<DogsitRequestSummary> getRequestsByStatus(RequestStatus status){
+        List<DogsitRequestSummary> requests = dogsitRepo.findSummariesByStatus(status);
+        if(status != RequestStatus.PENDING){
+            return requests;
+        }
+
+        List<DogsitRequestSummary> virtual = recurringScheduleService.getVirtualOccurrences();
+        if(virtual.isEmpty()){
+            return requests;
+        }
+        return mergeByStartTime(requests, virtual);
+    }
+
+    public DogsitRequestPage<DogsitRequestSummary> searchRequests(DogsitRequestSearch search){
+        return dogsitRepo.search(search);
     }
 
-    public List<DogsitRequest> getAllRequests(){
-        return dogsitRepo.findAll();
+    public List<NearbyDogsitRequest> findNearbyRequests(double latitude, double longitude, double radiusKm, int limit){
+        List<PendingRequestGeoIndex.Match> matches = geoIndex.nearest(latitude, longitude, radiusKm, limit);
+        if(matches.isEmpty()){
+            return List.of();
+        }
+
+        Map<Long, DogsitRequestSummary> summaries = new HashMap<>();
+        for(DogsitRequestSummary summary : dogsitRepo.findSummariesByIdInAndStatus(
+                matches.stream().map(PendingRequestGeoIndex.Match::id).toList(), RequestStatus.PENDING)){
+            summaries.put(summary.id(), summary);
+        }
+
+        List<NearbyDogsitRequest> nearby = new ArrayList<>(matches.size());
+        for(PendingRequestGeoIndex.Match match : matches){
+            DogsitRequestSummary summary = summaries.get(match.id());
+            if(summary != null){
+                nearby.add(new NearbyDogsitRequest(summary, match.distanceKm()));
+            }
+        }
+        return nearby;
+    }
+
+    public List<DogsitRequestSummary> findAvailableRequests(LocalDateTime from, LocalDateTime to, Long sitterId, int limit){
+        List<Long> ids = scheduleIndex.findPendingWithin(from, to, sitterId, limit);
+        if(ids.isEmpty()){
+            return List.of();
+        }
+
+        List<DogsitRequestSummary> summaries = new ArrayList<>(dogsitRepo.findSummariesByIdInAndStatus(ids, RequestStatus.PENDING));
+        summaries.sort(Comparator.comparing(DogsitRequestSummary::startTime).thenComparing(DogsitRequestSummary::id));
+        return summaries;
     }
 
-    public List<DogsitRequest> getRequestsByStatus(RequestStatus status){
-        return dogsitRepo.findByStatus(status);
+    @Transactional
+    public DogsitRequest createRequest(User owner, DogsitRequestForm form){
+        return createRequest(toRequests(owner, List.of(form)).get(0));
     }
 
+    @Transactional
+    public List<DogsitRequest> createRequestBatch(User owner, List<DogsitRequestForm> forms){
+        return createRequests(owner, toRequests(owner, forms));
+    }
+
+    @Transactional
     public DogsitRequest createRequest(DogsitRequest request){
+        validateCoordinates(request.getLatitude(), request.getLongitude());
         request.setStatus(RequestStatus.PENDING);
-        return dogsitRepo.save(request);
+        DogsitRequest saved = dogsitRepo.save(request);
+        statsService.requestsCreated(saved.getOwner() == null ? null : saved.getOwner().getId(), 1);
+        eventPublisher.publishEvent(DogsitRequestEvent.created(DogsitRequestSummary.from(saved)));
+        return saved;
     }
 
-    @Transactional
     public DogsitRequest acceptRequest(Long requestId, Long userId){
-        DogsitRequest request = dogsitRepo.findById(requestId).orElseThrow(() -> new RuntimeException("Request not found"));
+        return dogsitMetrics.recordAccept(() -> transactionTemplate.execute(status -> acceptRequestOnce(requestId, userId)));
+    }
 
+    private DogsitRequest acceptRequestOnce(Long requestId, Long userId){
         User user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
-        if(request.getStatus() != RequestStatus.PENDING){
-            throw new RuntimeException("Request already accepted or completed");
+        RequestScheduleIndex.Reservation reservation = scheduleIndex.reserve(requestId, userId);
+        if(reservation == RequestScheduleIndex.Reservation.CONFLICT){
+            throw new ScheduleConflictException("Sitter already has an overlapping sit");
+        }
+        if(reservation == RequestScheduleIndex.Reservation.IN_FLIGHT){
+            throw new RequestAlreadyTakenException("Request is being accepted by another sitter");
+        }
+        if(reservation == RequestScheduleIndex.Reservation.RESERVED){
+            releaseOnRollback(requestId, userId);
+        }
+
+        if(dogsitRepo.markAccepted(requestId, user) == 1){
+            DogsitRequest accepted = dogsitRepo.findById(requestId).orElseThrow(() -> new RuntimeException("Request not found"));
+            statsService.requestsAccepted(userId, Map.of(accepted.getOwner().getId(), 1));
+            eventPublisher.publishEvent(DogsitRequestEvent.accepted(requestId, accepted.getOwner().getId(), userId));
+            return accepted;
         }
 
-        if(request.getOwner().getId().equals(user.getId())){
+        DogsitRequest request = dogsitRepo.findById(requestId).orElseThrow(() -> new RuntimeException("Request not found"));
+
+        if(request.getStatus() == RequestStatus.PENDING && request.getOwner().getId().equals(userId)){
             throw new RuntimeException("Users cannot accept their own request");
         }
 
-        request.setAcceptedBy(user);
-        request.setStatus(RequestStatus.ACCEPTED);
-        return dogsitRepo.save(request);
+        throw new RequestAlreadyTakenException("Request already accepted or completed");
+    }
+
+    /**
+     * Accepts a virtual occurrence of a recurring schedule, creating its request first if the materializer has not.
+     */
+    public DogsitRequest acceptOccurrence(Long scheduleId, LocalDateTime startTime, Long userId){
+        Long requestId = dogsitRepo.findIdByScheduleIdAndStartTime(scheduleId, startTime)
+            .orElseGet(() -> materializeOccurrence(scheduleId, startTime, userId));
+        return acceptRequest(requestId, userId);
+    }
+
+    private Long materializeOccurrence(Long scheduleId, LocalDateTime startTime, Long userId){
+        DogsitRequest occurrence = recurringScheduleService.getOccurrence(scheduleId, startTime);
+        if(occurrence.getOwner().getId().equals(userId)){
+            throw new RuntimeException("Users cannot accept their own request");
+        }
+        // Checked before the row exists so a sitter who cannot take it does not pull the occurrence off the projection.
+        if(scheduleIndex.hasConflict(userId, occurrence.getStartTime(), occurrence.getEndTime())){
+            throw new ScheduleConflictException("Sitter already has an overlapping sit");
+        }
+
+        try {
+            return transactionTemplate.execute(status -> createRequest(occurrence)).getId();
+        } catch (DataIntegrityViolationException e) {
+            // Another accept or the materializer inserted it first; the accept then races on that row.
+            return dogsitRepo.findIdByScheduleIdAndStartTime(scheduleId, startTime).orElseThrow(() -> e);
+        }
     }
 
     @Transactional
+    public List<DogsitRequest> createRequests(User owner, List<DogsitRequest> requests){
+        for(DogsitRequest request : requests){
+            validateCoordinates(request.getLatitude(), request.getLongitude());
+            request.setOwner(owner);
+            request.setStatus(RequestStatus.PENDING);
+        }
+
+        List<DogsitRequest> saved = dogsitRepo.saveAll(requests);
+        statsService.requestsCreated(owner.getId(), saved.size());
+        for(DogsitRequest request : saved){
+            eventPublisher.publishEvent(DogsitRequestEvent.created(DogsitRequestSummary.from(request)));
+        }
+        return saved;
+    }
+
+    @Transactional
+    public BatchResult acceptRequests(List<Long> requestIds, Long userId){
+        User user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+
+        Map<Long, RequestInterval> requests = new HashMap<>();
+        for(RequestInterval request : dogsitRepo.findIntervalsByIdIn(requestIds)){
+            requests.put(request.id(), request);
+        }
+
+        Map<Long, String> failed = new LinkedHashMap<>();
+        List<Long> candidates = new ArrayList<>();
+        for(Long requestId : new LinkedHashSet<>(requestIds)){
+            RequestInterval request = requests.get(requestId);
+            if(request == null){
+                failed.put(requestId, "Request not found");
+            } else if(request.status() != RequestStatus.PENDING){
+                failed.put(requestId, "Request already accepted or completed");
+            } else if(userId.equals(request.ownerId())){
+                failed.put(requestId, "Users cannot accept their own request");
+            } else {
+                RequestScheduleIndex.Reservation reservation = scheduleIndex.reserve(requestId, userId);
+                if(reservation == RequestScheduleIndex.Reservation.CONFLICT){
+                    failed.put(requestId, "Sitter already has an overlapping sit");
+                    continue;
+                }
+                if(reservation == RequestScheduleIndex.Reservation.IN_FLIGHT){
+                    failed.put(requestId, "Request is being accepted by another sitter");
+                    continue;
+                }
+                if(reservation == RequestScheduleIndex.Reservation.RESERVED){
+                    releaseOnRollback(requestId, userId);
+                }
+                candidates.add(requestId);
+            }
+        }
+
+        List<Long> succeeded = new ArrayList<>();
+        if(candidates.isEmpty()){
+            return new BatchResult(succeeded, failed);
+        }
+
+        dogsitRepo.markAllAccepted(candidates, user);
+        Set<Long> accepted = new HashSet<>(dogsitRepo.findAcceptedIds(candidates, user));
+        Map<Long, Integer> acceptedByOwner = new HashMap<>();
+        for(Long requestId : candidates){
+            if(accepted.contains(requestId)){
+                succeeded.add(requestId);
+                acceptedByOwner.merge(requests.get(requestId).ownerId(), 1, Integer::sum);
+                eventPublisher.publishEvent(DogsitRequestEvent.accepted(requestId, requests.get(requestId).ownerId(), userId));
+            } else {
+                failed.put(requestId, "Request already accepted or completed");
+                scheduleIndex.release(requestId, userId);
+            }
+        }
+        statsService.requestsAccepted(userId, acceptedByOwner);
+        return new BatchResult(succeeded, failed);
+    }
+
     public DogsitRequest completeRequest(Long requestId){
+        return dogsitMetrics.recordComplete(() -> executeWithRetry(() -> completeRequestOnce(requestId)));
+    }
+
+    public BatchResult completeRequests(List<Long> requestIds, Long ownerId){
+        return executeWithRetry(() -> completeRequestsOnce(new ArrayList<>(new LinkedHashSet<>(requestIds)), ownerId));
+    }
+
+    private <T> T executeWithRetry(Supplier<T> work){
+        for(int attempt = 1; ; attempt++){
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if(attempt >= MAX_COMPLETE_ATTEMPTS){
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private DogsitRequest completeRequestOnce(Long requestId){
         DogsitRequest request = dogsitRepo.findById(requestId).orElseThrow(() -> new RuntimeException("Request not found"));
 
         if(request.getStatus() != RequestStatus.ACCEPTED){
             throw new IllegalStateException("Only accepted requests can be completed");
         }
 
-        request.setStatus(RequestStatus.COMPLETED);
-
         User owner = request.getOwner();
         User sitter = request.getAcceptedBy();
-        long duration = request.getDurationHours();
-        int pointsToTransfer = (int)(duration * POINTS_PER_HOUR);
-
-        if(owner.getPoints() < pointsToTransfer){
-            throw new RuntimeException("Owner has insufficient points");
-        }
-
         if(sitter == null || owner == null){
             throw new IllegalStateException("Missing sitter or owner for this request");
         }
 
-        owner.setPoints(owner.getPoints() - pointsToTransfer);
-        sitter.setPoints(sitter.getPoints() + pointsToTransfer);
+        Long ownerId = owner.getId();
+        Long sitterId = sitter.getId();
+        int pointsToTransfer = (int)(request.getDurationHours() * POINTS_PER_HOUR);
+
+        if(dogsitRepo.markCompleted(requestId) != 1){
+            throw new IllegalStateException("Only accepted requests can be completed");
+        }
+
+        pointsLedger.transfer(ownerId, sitterId, pointsToTransfer, requestId);
+        statsService.requestsCompleted(ownerId, List.of(new PointsLedger.Transfer(sitterId, pointsToTransfer, requestId)));
+        eventPublisher.publishEvent(DogsitRequestEvent.completed(requestId, ownerId, sitterId));
 
-        userRepo.save(owner);
-        userRepo.save(sitter);
-        dogsitRepo.save(request);
-        
+        request.setStatus(RequestStatus.COMPLETED);
+        request.setCompletedAt(Instant.now());
         return request;
     }
+
+    private BatchResult completeRequestsOnce(List<Long> requestIds, Long ownerId){
+        List<DogsitRequest> requests = dogsitRepo.findAllById(requestIds);
+        if(requests.size() != requestIds.size()){
+            throw new RuntimeException("Request not found");
+        }
+
+        List<PointsLedger.Transfer> transfers = new ArrayList<>(requests.size());
+        for(DogsitRequest request : requests){
+            if(request.getStatus() != RequestStatus.ACCEPTED){
+                throw new IllegalStateException("Only accepted requests can be completed");
+            }
+            if(request.getOwner() == null || request.getAcceptedBy() == null){
+                throw new IllegalStateException("Missing sitter or owner for this request");
+            }
+            if(!request.getOwner().getId().equals(ownerId)){
+                throw new IllegalStateException("Only the owner can complete these requests");
+            }
+            transfers.add(new PointsLedger.Transfer(request.getAcceptedBy().getId(),
+                (int)(request.getDurationHours() * POINTS_PER_HOUR), request.getId()));
+        }
+
+        if(dogsitRepo.markAllCompleted(requestIds) != requestIds.size()){
+            throw new IllegalStateException("Only accepted requests can be completed");
+        }
+
+        pointsLedger.transferAll(ownerId, transfers);
+        statsService.requestsCompleted(ownerId, transfers);
+        for(PointsLedger.Transfer transfer : transfers){
+            eventPublisher.publishEvent(DogsitRequestEvent.completed(transfer.dogsitRequestId(), ownerId, transfer.toUserId()));
+        }
+        return new BatchResult(requestIds, Map.of());
+    }
+
+    private List<DogsitRequest> toRequests(User owner, List<DogsitRequestForm> forms){
+        Set<Long> petIds = new HashSet<>();
+        for(DogsitRequestForm form : forms){
+            if(form.petId() != null){
+                petIds.add(form.petId());
+            }
+        }
+
+        Map<Long, Pet> pets = new HashMap<>();
+        for(Pet pet : petRepo.findAllById(petIds)){
+            if(pet.getUser() == null || !pet.getUser().getId().equals(owner.getId())){
+                throw new RuntimeException("Pet does not belong to this user");
+            }
+            pets.put(pet.getId(), pet);
+        }
+
+        List<DogsitRequest> requests = new ArrayList<>(forms.size());
+        for(DogsitRequestForm form : forms){
+            DogsitRequest request = form.toRequest();
+            if(form.petId() != null){
+                Pet pet = pets.get(form.petId());
+                if(pet == null){
+                    throw new RuntimeException("Pet not found");
+                }
+                request.setPet(pet);
+            }
+            request.setOwner(owner);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    // Both lists are already sorted by start time.
+    private static List<DogsitRequestSummary> mergeByStartTime(List<DogsitRequestSummary> first, List<DogsitRequestSummary> second){
+        Comparator<LocalDateTime> order = Comparator.nullsLast(Comparator.naturalOrder());
+        List<DogsitRequestSummary> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while(i < first.size() && j < second.size()){
+            if(order.compare(first.get(i).startTime(), second.get(j).startTime()) <= 0){
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+
+    private void releaseOnRollback(Long requestId, Long userId){
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if(status != STATUS_COMMITTED){
+                    scheduleIndex.release(requestId, userId);
+                }
+            }
+        });
+    }
+
+    private void validateCoordinates(Double latitude, Double longitude){
+        if(latitude == null && longitude == null){
+            return;
+        }
+        if(latitude == null || longitude == null){
+            throw new RuntimeException("Latitude and longitude must be provided together");
+        }
+        if(latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180){
+            throw new RuntimeException("Coordinates are out of range");
+        }
+    }
+
+    private void backOff(int attempt){
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying request completion");
+        }
+    }
 }
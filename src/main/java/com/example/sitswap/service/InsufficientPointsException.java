@@ -0,0 +1,8 @@
+package com.example.sitswap.service;
+
+public class InsufficientPointsException extends RuntimeException {
+
+    public InsufficientPointsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.sitswap.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.storage.ImageStore;
+
+@Service
+public class PetImageProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PetImageProcessor.class);
+
+    private static final int THUMBNAIL_SIZE = 160;
+    private static final int CARD_SIZE = 480;
+    private static final int FULL_SIZE = 1280;
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int MAX_SAVE_ATTEMPTS = 3;
+    // A few kilobytes of PNG can declare a canvas that needs gigabytes once decoded, so the header is checked first.
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final PetRepository petRepository;
+    private final ImageStore imageStore;
+
+    public PetImageProcessor(PetRepository petRepository, ImageStore imageStore){
+        this.petRepository = petRepository;
+        this.imageStore = imageStore;
+    }
+
+    @Async("imageProcessingExecutor")
+    public void process(Long petId, Path upload){
+        try {
+            BufferedImage original = decode(petId, upload);
+            if(original == null){
+                return;
+            }
+
+            String thumbnailKey = writeVariant(original, THUMBNAIL_SIZE);
+            String cardKey = writeVariant(original, CARD_SIZE);
+            String fullKey = writeVariant(original, FULL_SIZE);
+
+            saveVariantUrls(petId, imageStore.urlFor(thumbnailKey), imageStore.urlFor(cardKey), imageStore.urlFor(fullKey));
+        } catch (IOException e) {
+            log.error("Failed to process image for pet {}", petId, e);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary upload {}", upload, e);
+            }
+        }
+    }
+
+    // The owner may edit the pet while the variants are written, so a stale version is reloaded and the URLs applied
+    // to the newer one rather than dropping the upload.
+    private void saveVariantUrls(Long petId, String thumbnailUrl, String cardUrl, String fullUrl){
+        for(int attempt = 1; ; attempt++){
+            Pet pet = petRepository.findById(petId).orElse(null);
+            if(pet == null){
+                log.warn("Pet {} was deleted before its image finished processing", petId);
+                return;
+            }
+
+            pet.setThumbnailUrl(thumbnailUrl);
+            pet.setCardImageUrl(cardUrl);
+            pet.setImageUrl(fullUrl);
+            try {
+                petRepository.save(pet);
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if(attempt >= MAX_SAVE_ATTEMPTS){
+                    throw e;
+                }
+                log.debug("Pet {} changed while its image was processed, retrying", petId);
+            }
+        }
+    }
+
+    private BufferedImage decode(Long petId, Path upload) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if(readers == null || !readers.hasNext()){
+                log.warn("Discarding upload for pet {}: not a decodable image", petId);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if(pixels > MAX_PIXELS){
+                    log.warn("Discarding upload for pet {}: {}x{} exceeds the {} pixel budget", petId,
+                        reader.getWidth(0), reader.getHeight(0), MAX_PIXELS);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private String writeVariant(BufferedImage original, int maxSize) throws IOException {
+        BufferedImage resized = resize(original, maxSize);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Path variant = Files.createTempFile("pet-variant-", ".jpg");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(variant.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(resized, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return imageStore.put(variant, "jpg");
+        } finally {
+            Files.deleteIfExists(variant);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxSize){
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight);
+        } while(currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height){
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
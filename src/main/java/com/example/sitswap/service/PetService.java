@@ -1,12 +1,22 @@
 package com.example.sitswap.service;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.sitswap.dto.ResourceVersion;
 import com.example.sitswap.model.Pet;
 import com.example.sitswap.model.User;
 import com.example.sitswap.repository.PetRepository;
@@ -14,18 +24,37 @@ import com.example.sitswap.repository.UserRepository;
 
 @Service
 public class PetService {
+    private static final long MAX_IMAGE_BYTES = 5 * 1024 * 1024;
+    private static final int UPLOAD_CHUNK_BYTES = 64 * 1024;
+    private static final int SIGNATURE_BYTES = 8;
+
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87_SIGNATURE = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89_SIGNATURE = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] BMP_SIGNATURE = {'B', 'M'};
+
     private final PetRepository petRepository;
     private final UserRepository userRepository;
+    private final PetImageProcessor imageProcessor;
+    private final UploadMetrics uploadMetrics;
 
-    public PetService(PetRepository petRepository, UserRepository userRepository) {
+    public PetService(PetRepository petRepository, UserRepository userRepository, PetImageProcessor imageProcessor,
+            UploadMetrics uploadMetrics) {
         this.petRepository = petRepository;
         this.userRepository = userRepository;
+        this.imageProcessor = imageProcessor;
+        this.uploadMetrics = uploadMetrics;
     }
 
     public List<Pet> getPetsByUserId(Long userId){
         return petRepository.findByUserId(userId);
     }
 
+    public ResourceVersion getPetsVersion(Long userId){
+        return petRepository.findResourceVersionByUserId(userId);
+    }
+
     public Pet createPet(Long userId, Pet pet){
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -59,50 +88,102 @@ public class PetService {
         petRepository.deleteById(petId);
     }
 
-    @SuppressWarnings("UseSpecificCatch")
     public Pet uploadPetImage(Long petId, MultipartFile image) throws Exception{
-        Pet pet = petRepository.findById(petId)
-            .orElseThrow(() -> new RuntimeException("Pet not found"));
-
         if(image.isEmpty()){
             throw new RuntimeException("Please select a file to upload");
         }
 
-        if(image.getSize() > 5 * 1024 * 1024){
-            throw new RuntimeException("File size must be less than 5MB");
-        }
-
         String contentType = image.getContentType();
         if(contentType == null || !contentType.startsWith("image/")){
             throw new RuntimeException("Only image files are allowed");
         }
 
-        String uploadDir = System.getProperty("user.dir") + "/src/main/resources/static/images/pets/";
-        File directory = new File(uploadDir);
-        if(!directory.exists()){
-            boolean created = directory.mkdirs();
-            if(!created){
-                throw new RuntimeException("Failed to create upload directory");
-            }
+        try (InputStream input = image.getInputStream()) {
+            return streamPetImage(petId, input, image.getSize());
         }
+    }
+
+    public Pet streamPetImage(Long petId, InputStream body, long declaredLength) throws IOException{
+        Pet pet = petRepository.findById(petId)
+            .orElseThrow(() -> new RuntimeException("Pet not found"));
 
-        String originalFilename = image.getOriginalFilename();
-        if(originalFilename == null || originalFilename.isEmpty()){
-            throw new RuntimeException("Invalid file name");
+        long started = System.nanoTime();
+        if(declaredLength > MAX_IMAGE_BYTES){
+            uploadMetrics.recordRejected(petId, 0, System.nanoTime() - started, "declared length " + declaredLength);
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "File size must be less than 5MB");
         }
 
-        String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String filename = petId + "_" + System.currentTimeMillis() + fileExtension;
+        Path upload = Files.createTempFile("pet-" + petId + "-", ".upload");
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(upload, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] chunk = new byte[UPLOAD_CHUNK_BYTES];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            boolean signatureChecked = false;
+            int read;
+            while((read = body.read(chunk, buffer.position(), chunk.length - buffer.position())) != -1){
+                buffer.position(buffer.position() + read);
+                if(written + buffer.position() > MAX_IMAGE_BYTES){
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "File size must be less than 5MB");
+                }
+                if(!signatureChecked){
+                    if(buffer.position() < SIGNATURE_BYTES){
+                        continue;
+                    }
+                    if(!hasImageSignature(chunk)){
+                        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only JPEG, PNG, GIF or BMP images are allowed");
+                    }
+                    signatureChecked = true;
+                }
+                buffer.flip();
+                written += buffer.remaining();
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
 
-        String filepath = uploadDir + filename;
-        File destinationFile = new File(filepath);
+            if(!signatureChecked){
+                if(buffer.position() == 0){
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Please select a file to upload");
+                }
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only JPEG, PNG, GIF or BMP images are allowed");
+            }
+        } catch (ResponseStatusException e) {
+            Files.deleteIfExists(upload);
+            uploadMetrics.recordRejected(petId, written, System.nanoTime() - started, e.getReason());
+            throw e;
+        } catch (IOException e) {
+            Files.deleteIfExists(upload);
+            uploadMetrics.recordRejected(petId, written, System.nanoTime() - started, e.getMessage());
+            throw new RuntimeException("Failed to save file: " + e.getMessage());
+        }
 
         try {
-            image.transferTo(destinationFile);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save file: " + e.getMessage());
+            imageProcessor.process(petId, upload);
+        } catch (TaskRejectedException e) {
+            Files.deleteIfExists(upload);
+            uploadMetrics.recordRejected(petId, written, System.nanoTime() - started, "processing queue full");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Image processing is busy, please try again shortly");
         }
-        pet.setImageUrl("/images/pets/" + filename);
-        return petRepository.save(pet);
+
+        uploadMetrics.recordAccepted(petId, written, System.nanoTime() - started);
+        return pet;
+    }
+
+    private static boolean hasImageSignature(byte[] header){
+        return startsWith(header, JPEG_SIGNATURE)
+            || startsWith(header, PNG_SIGNATURE)
+            || startsWith(header, GIF87_SIGNATURE)
+            || startsWith(header, GIF89_SIGNATURE)
+            || startsWith(header, BMP_SIGNATURE);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix){
+        for(int i = 0; i < prefix.length; i++){
+            if(data[i] != prefix[i]){
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,108 @@
+package com.example.sitswap.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.example.sitswap.model.PointsTransaction;
+import com.example.sitswap.model.PointsTransaction.TransactionType;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class PointsLedger {
+
+    public record Transfer(Long toUserId, int amount, Long dogsitRequestId) {
+    }
+
+    private final UserRepository userRepo;
+    private final PointsTransactionRepository transactionRepo;
+
+    public PointsLedger(UserRepository userRepo, PointsTransactionRepository transactionRepo){
+        this.userRepo = userRepo;
+        this.transactionRepo = transactionRepo;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public PointsTransaction transfer(Long fromUserId, Long toUserId, int amount, Long dogsitRequestId){
+        if(amount < 0){
+            throw new IllegalArgumentException("Transfer amount must not be negative");
+        }
+
+        // Touch rows in id order so two opposite transfers cannot deadlock.
+        if(fromUserId < toUserId){
+            debit(fromUserId, amount, "Owner has insufficient points");
+            credit(toUserId, amount);
+        } else {
+            credit(toUserId, amount);
+            debit(fromUserId, amount, "Owner has insufficient points");
+        }
+
+        return transactionRepo.save(new PointsTransaction(fromUserId, toUserId, amount, TransactionType.TRANSFER, dogsitRequestId));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public List<PointsTransaction> transferAll(Long fromUserId, List<Transfer> transfers){
+        int total = 0;
+        Map<Long, Integer> credits = new TreeMap<>();
+        for(Transfer transfer : transfers){
+            if(transfer.amount() < 0){
+                throw new IllegalArgumentException("Transfer amount must not be negative");
+            }
+            total += transfer.amount();
+            credits.merge(transfer.toUserId(), transfer.amount(), Integer::sum);
+        }
+
+        // One debit for the whole batch, still touching rows in id order like transfer().
+        boolean debited = false;
+        for(Map.Entry<Long, Integer> credit : credits.entrySet()){
+            if(!debited && fromUserId < credit.getKey()){
+                debit(fromUserId, total, "Owner has insufficient points");
+                debited = true;
+            }
+            credit(credit.getKey(), credit.getValue());
+        }
+        if(!debited){
+            debit(fromUserId, total, "Owner has insufficient points");
+        }
+
+        List<PointsTransaction> entries = new ArrayList<>(transfers.size());
+        for(Transfer transfer : transfers){
+            entries.add(new PointsTransaction(fromUserId, transfer.toUserId(), transfer.amount(), TransactionType.TRANSFER,
+                transfer.dogsitRequestId()));
+        }
+        return transactionRepo.saveAll(entries);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public PointsTransaction adjust(Long userId, int delta){
+        if(delta < 0){
+            debit(userId, -delta, "User has insufficient points");
+            return transactionRepo.save(new PointsTransaction(userId, null, -delta, TransactionType.ADJUSTMENT, null));
+        }
+
+        credit(userId, delta);
+        return transactionRepo.save(new PointsTransaction(null, userId, delta, TransactionType.ADJUSTMENT, null));
+    }
+
+    private void debit(Long userId, int amount, String insufficientMessage){
+        if(userRepo.debitPoints(userId, amount) == 1){
+            return;
+        }
+        if(!userRepo.existsById(userId)){
+            throw new RuntimeException("User not found");
+        }
+        throw new InsufficientPointsException(insufficientMessage);
+    }
+
+    private void credit(Long userId, int amount){
+        if(userRepo.creditPoints(userId, amount) != 1){
+            throw new RuntimeException("User not found");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.sitswap.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.sitswap.dto.OccurrenceKey;
+import com.example.sitswap.event.RecurringSchedulesChangedEvent;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.RecurringDogsitSchedule;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.RecurringDogsitScheduleRepository;
+
+/**
+ * Turns schedule occurrences inside the rolling horizon into real PENDING requests.
+ * Anything past the watermark is still served as a virtual occurrence until this job catches up, unless a sitter
+ * accepts it first.
+ */
+@Component
+public class RecurringScheduleMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringScheduleMaterializer.class);
+
+    private final RecurringDogsitScheduleRepository scheduleRepo;
+    private final DogsitRequestRepository dogsitRepo;
+    private final RecurringScheduleService scheduleService;
+    private final DogsitRequestService dogsitService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecurringScheduleMaterializer(RecurringDogsitScheduleRepository scheduleRepo, DogsitRequestRepository dogsitRepo,
+            RecurringScheduleService scheduleService, DogsitRequestService dogsitService, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher){
+        this.scheduleRepo = scheduleRepo;
+        this.dogsitRepo = dogsitRepo;
+        this.scheduleService = scheduleService;
+        this.dogsitService = dogsitService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${sitswap.schedules.materialize-interval:PT1H}",
+        initialDelayString = "${sitswap.schedules.materialize-initial-delay:PT1M}")
+    public int materializeDue(){
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(scheduleService.getHorizonDays());
+
+        List<RecurringDogsitSchedule> dueSchedules = scheduleRepo.findBehindHorizon(today, horizonEnd);
+        int created = 0;
+        for(RecurringDogsitSchedule due : dueSchedules){
+            try {
+                Integer count = transactionTemplate.execute(status -> materialize(due.getId(), today, horizonEnd));
+                created += count == null ? 0 : count;
+            } catch (RuntimeException e) {
+                log.warn("Failed to materialize recurring schedule {}", due.getId(), e);
+            }
+        }
+        if(created > 0){
+            log.info("Materialized {} recurring sit occurrences through {}", created, horizonEnd);
+        }
+        if(!dueSchedules.isEmpty()){
+            eventPublisher.publishEvent(new RecurringSchedulesChangedEvent(null));
+        }
+        return created;
+    }
+
+    private int materialize(Long scheduleId, LocalDate today, LocalDate horizonEnd){
+        RecurringDogsitSchedule schedule = scheduleRepo.findById(scheduleId).orElse(null);
+        if(schedule == null || !schedule.getActive()){
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DogsitRequest> occurrences = scheduleService.expand(schedule, today, horizonEnd, now);
+        if(!occurrences.isEmpty()){
+            // Occurrences accepted from the projection already have their row.
+            Set<OccurrenceKey> existing = dogsitRepo.findOccurrenceKeys(List.of(scheduleId), now);
+            occurrences = occurrences.stream()
+                .filter(occurrence -> !existing.contains(new OccurrenceKey(scheduleId, occurrence.getStartTime())))
+                .toList();
+        }
+        if(!occurrences.isEmpty()){
+            dogsitService.createRequests(schedule.getOwner(), occurrences);
+        }
+        schedule.setMaterializedThrough(horizonEnd);
+        return occurrences.size();
+    }
+}
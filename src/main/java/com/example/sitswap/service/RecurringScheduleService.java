@@ -0,0 +1,205 @@
+package com.example.sitswap.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.OccurrenceKey;
+import com.example.sitswap.dto.RecurringScheduleForm;
+import com.example.sitswap.event.RecurringSchedulesChangedEvent;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.RecurringDogsitSchedule;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.RecurringDogsitScheduleRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class RecurringScheduleService {
+
+    private static final int MAX_DURATION_MINUTES = 24 * 60;
+
+    private final RecurringDogsitScheduleRepository scheduleRepo;
+    private final DogsitRequestRepository dogsitRepo;
+    private final PetRepository petRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int horizonDays;
+    private final int projectionDays;
+
+    public RecurringScheduleService(RecurringDogsitScheduleRepository scheduleRepo, DogsitRequestRepository dogsitRepo,
+            PetRepository petRepo, ApplicationEventPublisher eventPublisher, @Value("${sitswap.schedules.horizon-days:14}") int horizonDays,
+            @Value("${sitswap.schedules.projection-days:28}") int projectionDays){
+        this.scheduleRepo = scheduleRepo;
+        this.dogsitRepo = dogsitRepo;
+        this.petRepo = petRepo;
+        this.eventPublisher = eventPublisher;
+        this.horizonDays = horizonDays;
+        this.projectionDays = projectionDays;
+    }
+
+    public int getHorizonDays(){
+        return horizonDays;
+    }
+
+    public int getProjectionDays(){
+        return projectionDays;
+    }
+
+    @Transactional
+    public RecurringDogsitSchedule createSchedule(User owner, RecurringScheduleForm form){
+        if(form.petId() == null){
+            throw new RuntimeException("A pet is required");
+        }
+        if(form.days() == null || form.days().isEmpty()){
+            throw new RuntimeException("At least one day of the week is required");
+        }
+        if(form.startTime() == null || form.durationMinutes() == null
+                || form.durationMinutes() <= 0 || form.durationMinutes() > MAX_DURATION_MINUTES){
+            throw new RuntimeException("Start time and a duration of up to 24 hours are required");
+        }
+        LocalDate startsOn = form.startsOn() == null ? LocalDate.now() : form.startsOn();
+        if(form.endsOn() != null && form.endsOn().isBefore(startsOn)){
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if((form.latitude() == null) != (form.longitude() == null)){
+            throw new RuntimeException("Latitude and longitude must be provided together");
+        }
+
+        Pet pet = petRepo.findById(form.petId()).orElseThrow(() -> new RuntimeException("Pet not found"));
+        if(pet.getUser() == null || !pet.getUser().getId().equals(owner.getId())){
+            throw new RuntimeException("Pet does not belong to this user");
+        }
+
+        RecurringDogsitSchedule schedule = new RecurringDogsitSchedule();
+        schedule.setOwner(owner);
+        schedule.setPet(pet);
+        schedule.setDescription(form.description());
+        schedule.setLocation(form.location());
+        schedule.setLatitude(form.latitude());
+        schedule.setLongitude(form.longitude());
+        schedule.setPetName(pet.getName());
+        schedule.setPetBreed(pet.getBreed());
+        schedule.setPetAge(pet.getAge());
+        schedule.setPetSize(pet.getSize());
+        schedule.setPetDescription(pet.getDescription());
+        schedule.setPetSpecialNeeds(pet.getSpecialNeeds());
+        schedule.setPetEnergyLevel(pet.getEnergyLevel());
+        schedule.setPetImageUrl(pet.getCardImageUrl() != null ? pet.getCardImageUrl() : pet.getImageUrl());
+        schedule.setDays(form.days());
+        schedule.setStartTimeOfDay(form.startTime());
+        schedule.setDurationMinutes(form.durationMinutes());
+        schedule.setStartsOn(startsOn);
+        schedule.setEndsOn(form.endsOn());
+        RecurringDogsitSchedule saved = scheduleRepo.save(schedule);
+        eventPublisher.publishEvent(new RecurringSchedulesChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    public List<RecurringDogsitSchedule> getSchedules(Long ownerId){
+        return scheduleRepo.findByOwnerIdOrderById(ownerId);
+    }
+
+    @Transactional
+    public void deactivateSchedule(Long scheduleId, Long ownerId){
+        RecurringDogsitSchedule schedule = scheduleRepo.findById(scheduleId)
+            .orElseThrow(() -> new RuntimeException("Schedule not found"));
+        if(!schedule.getOwner().getId().equals(ownerId)){
+            throw new RuntimeException("Only the owner can stop this schedule");
+        }
+        schedule.setActive(false);
+        eventPublisher.publishEvent(new RecurringSchedulesChangedEvent(scheduleId));
+    }
+
+    /**
+     * Occurrences that have no request row yet: everything past each schedule's watermark, projected projectionDays
+     * beyond the materializer's horizon so owners and sitters can plan further ahead than the rows reach.
+     */
+    public List<DogsitRequestSummary> getVirtualOccurrences(){
+        LocalDate today = LocalDate.now();
+        LocalDate projectionEnd = today.plusDays(horizonDays + projectionDays);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<RecurringDogsitSchedule> schedules = scheduleRepo.findBehindHorizon(today, projectionEnd);
+        if(schedules.isEmpty()){
+            return List.of();
+        }
+        // Occurrences accepted ahead of the materializer already have a row.
+        Set<OccurrenceKey> materialized = dogsitRepo.findOccurrenceKeys(
+            schedules.stream().map(RecurringDogsitSchedule::getId).toList(), now);
+
+        List<DogsitRequestSummary> occurrences = new ArrayList<>();
+        for(RecurringDogsitSchedule schedule : schedules){
+            for(DogsitRequest occurrence : expand(schedule, today, projectionEnd, now)){
+                if(!materialized.contains(new OccurrenceKey(schedule.getId(), occurrence.getStartTime()))){
+                    occurrences.add(DogsitRequestSummary.occurrence(occurrence, schedule.getOwner()));
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(DogsitRequestSummary::startTime)
+            .thenComparing(DogsitRequestSummary::scheduleId));
+        return occurrences;
+    }
+
+    /**
+     * Returns the unsaved request for one virtual occurrence, with its owner loaded.
+     */
+    public DogsitRequest getOccurrence(Long scheduleId, LocalDateTime startTime){
+        RecurringDogsitSchedule schedule = scheduleRepo.findWithOwnerById(scheduleId)
+            .filter(RecurringDogsitSchedule::getActive)
+            .orElseThrow(() -> new RuntimeException("Schedule not found"));
+        LocalDate date = startTime.toLocalDate();
+        for(DogsitRequest occurrence : expand(schedule, date, date, LocalDateTime.now())){
+            if(occurrence.getStartTime().equals(startTime)){
+                occurrence.setOwner(schedule.getOwner());
+                return occurrence;
+            }
+        }
+        throw new RuntimeException("Schedule has no upcoming occurrence at " + startTime);
+    }
+
+    List<DogsitRequest> expand(RecurringDogsitSchedule schedule, LocalDate today, LocalDate horizonEnd, LocalDateTime now){
+        LocalDate from = schedule.getStartsOn().isAfter(today) ? schedule.getStartsOn() : today;
+        if(schedule.getMaterializedThrough() != null && !schedule.getMaterializedThrough().isBefore(from)){
+            from = schedule.getMaterializedThrough().plusDays(1);
+        }
+        LocalDate through = schedule.getEndsOn() != null && schedule.getEndsOn().isBefore(horizonEnd)
+            ? schedule.getEndsOn()
+            : horizonEnd;
+
+        List<DogsitRequest> occurrences = new ArrayList<>();
+        for(LocalDate date = from; !date.isAfter(through); date = date.plusDays(1)){
+            LocalDateTime start = date.atTime(schedule.getStartTimeOfDay());
+            if(!schedule.occursOn(date) || !start.isAfter(now)){
+                continue;
+            }
+            DogsitRequest occurrence = new DogsitRequest(schedule.getDescription(), start,
+                start.plusMinutes(schedule.getDurationMinutes()), schedule.getLocation(), null, null, RequestStatus.PENDING);
+            occurrence.setScheduleId(schedule.getId());
+            occurrence.setPet(schedule.getPet());
+            occurrence.setLatitude(schedule.getLatitude());
+            occurrence.setLongitude(schedule.getLongitude());
+            occurrence.setPetName(schedule.getPetName());
+            occurrence.setPetBreed(schedule.getPetBreed());
+            occurrence.setPetAge(schedule.getPetAge());
+            occurrence.setPetSize(schedule.getPetSize());
+            occurrence.setPetDescription(schedule.getPetDescription());
+            occurrence.setPetSpecialNeeds(schedule.getPetSpecialNeeds());
+            occurrence.setPetEnergyLevel(schedule.getPetEnergyLevel());
+            occurrence.setPetImageUrl(schedule.getPetImageUrl());
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+}
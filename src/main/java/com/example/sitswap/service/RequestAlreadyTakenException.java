@@ -0,0 +1,8 @@
+package com.example.sitswap.service;
+
+public class RequestAlreadyTakenException extends RuntimeException {
+
+    public RequestAlreadyTakenException(String message) {
+        super(message);
+    }
+}
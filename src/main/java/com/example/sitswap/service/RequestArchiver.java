@@ -0,0 +1,121 @@
+package com.example.sitswap.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.sitswap.dto.ArchiveCandidate;
+import com.example.sitswap.repository.DogsitRequestHistoryRepository;
+import com.example.sitswap.repository.DogsitRequestRepository;
+
+/**
+ * Moves COMPLETED requests older than the retention window into dogsit_request_history, one bounded batch per
+ * transaction, so the hot table and its indexes only hold live and recently finished sits.
+ */
+@Component
+public class RequestArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestArchiver.class);
+
+    private final DogsitRequestRepository dogsitRepo;
+    private final DogsitRequestHistoryRepository historyRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+    private volatile Boolean partitioned;
+
+    public RequestArchiver(DogsitRequestRepository dogsitRepo, DogsitRequestHistoryRepository historyRepo,
+            TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+            @Value("${sitswap.archive.completed-after:P90D}") Duration retention,
+            @Value("${sitswap.archive.batch-size:500}") int batchSize,
+            @Value("${sitswap.archive.max-batches-per-run:100}") int maxBatchesPerRun){
+        this.dogsitRepo = dogsitRepo;
+        this.historyRepo = historyRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${sitswap.archive.interval:PT1H}",
+        initialDelayString = "${sitswap.archive.initial-delay:PT5M}")
+    public int archiveCompleted(){
+        Instant cutoff = Instant.now().minus(retention);
+        int archived = 0;
+        for(int batch = 0; batch < maxBatchesPerRun; batch++){
+            List<ArchiveCandidate> due = dogsitRepo.findArchiveCandidates(cutoff, Limit.of(batchSize));
+            if(due.isEmpty()){
+                break;
+            }
+            ensurePartitions(due);
+
+            List<Long> ids = due.stream().map(ArchiveCandidate::id).toList();
+            Integer moved = transactionTemplate.execute(status -> {
+                int copied = historyRepo.copyCompleted(ids);
+                if(dogsitRepo.deleteCompleted(ids) != copied){
+                    // Something changed these rows since they were picked; leave them for the next run.
+                    status.setRollbackOnly();
+                    return 0;
+                }
+                return copied;
+            });
+            archived += moved == null ? 0 : moved;
+            if(due.size() < batchSize){
+                break;
+            }
+        }
+        if(archived > 0){
+            log.info("Archived {} completed requests finished before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    // PostgreSQL routes rows by completed_at month; anything without a partition would land in the default one.
+    private void ensurePartitions(List<ArchiveCandidate> due){
+        if(!isPartitioned()){
+            return;
+        }
+        Set<YearMonth> months = new TreeSet<>();
+        for(ArchiveCandidate candidate : due){
+            months.add(YearMonth.from(candidate.completedAt().atZone(ZoneOffset.UTC)));
+        }
+        for(YearMonth month : months){
+            if(knownPartitions.contains(month)){
+                continue;
+            }
+            jdbcTemplate.execute("create table if not exists dogsit_request_history_y%dm%02d partition of dogsit_request_history "
+                .formatted(month.getYear(), month.getMonthValue())
+                + "for values from ('%s-01 00:00:00+00') to ('%s-01 00:00:00+00')".formatted(month, month.plusMonths(1)));
+            knownPartitions.add(month);
+        }
+    }
+
+    private boolean isPartitioned(){
+        if(partitioned == null){
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return partitioned;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.sitswap.service;
+
+public class ScheduleConflictException extends RuntimeException {
+
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+}
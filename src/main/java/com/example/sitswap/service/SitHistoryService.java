@@ -0,0 +1,97 @@
+package com.example.sitswap.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.PastSit;
+import com.example.sitswap.repository.DogsitRequestHistoryRepository;
+import com.example.sitswap.repository.DogsitRequestRepository;
+
+/**
+ * A user's completed sits, as owner or sitter, newest first. Recent ones are still in dogsit_request and older ones
+ * in the archive, so each page reads both with the same keyset and merges them.
+ */
+@Service
+public class SitHistoryService {
+
+    // First-page keyset: later than any real completion, so "before" matches everything.
+    private static final Instant FIRST_PAGE = Instant.parse("9999-12-31T00:00:00Z");
+
+    private static final Comparator<PastSit> NEWEST_FIRST = Comparator.comparing(PastSit::completedAt)
+        .thenComparing(PastSit::id)
+        .reversed();
+
+    private final DogsitRequestRepository dogsitRepo;
+    private final DogsitRequestHistoryRepository historyRepo;
+
+    public SitHistoryService(DogsitRequestRepository dogsitRepo, DogsitRequestHistoryRepository historyRepo){
+        this.dogsitRepo = dogsitRepo;
+        this.historyRepo = historyRepo;
+    }
+
+    public DogsitRequestPage<PastSit> getPastSits(Long userId, String cursor, int limit){
+        Instant before = FIRST_PAGE;
+        Long beforeId = Long.MAX_VALUE;
+        if(cursor != null && !cursor.isBlank()){
+            String[] parts = decodeCursor(cursor);
+            before = Instant.parse(parts[0]);
+            beforeId = Long.valueOf(parts[1]);
+        }
+
+        // Live table first: a row archived between the two reads then shows up twice (deduplicated below) rather than not at all.
+        List<PastSit> recent = dogsitRepo.findPastSits(userId, before, beforeId, Limit.of(limit + 1));
+        List<PastSit> archived = historyRepo.findPastSits(userId, before, beforeId, Limit.of(limit + 1));
+
+        List<PastSit> merged = new ArrayList<>(recent.size() + archived.size());
+        Set<Long> seen = new HashSet<>();
+        for(PastSit sit : recent){
+            if(seen.add(sit.id())){
+                merged.add(sit);
+            }
+        }
+        for(PastSit sit : archived){
+            if(seen.add(sit.id())){
+                merged.add(sit);
+            }
+        }
+        merged.sort(NEWEST_FIRST);
+
+        if(merged.size() <= limit){
+            return new DogsitRequestPage<>(merged, null);
+        }
+        List<PastSit> items = merged.subList(0, limit);
+        PastSit last = items.get(items.size() - 1);
+        return new DogsitRequestPage<>(List.copyOf(items), encodeCursor(last.completedAt(), last.id()));
+    }
+
+    private static String encodeCursor(Instant completedAt, Long id){
+        String raw = completedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if(parts.length != 2){
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant.parse(parts[0]);
+            Long.valueOf(parts[1]);
+            return parts;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
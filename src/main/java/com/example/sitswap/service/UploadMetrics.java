@@ -0,0 +1,68 @@
+package com.example.sitswap.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class UploadMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadMetrics.class);
+
+    private final Timer acceptedDuration;
+    private final Timer rejectedDuration;
+    private final DistributionSummary acceptedBytes;
+    private final DistributionSummary rejectedBytes;
+
+    public UploadMetrics(MeterRegistry registry){
+        this.acceptedDuration = duration(registry, "accepted");
+        this.rejectedDuration = duration(registry, "rejected");
+        this.acceptedBytes = bytes(registry, "accepted");
+        this.rejectedBytes = bytes(registry, "rejected");
+    }
+
+    public void recordAccepted(Long petId, long byteCount, long durationNanos){
+        acceptedDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+        acceptedBytes.record(byteCount);
+        log.debug("Pet image upload accepted: pet={} bytes={} durationMs={}", petId, byteCount, durationNanos / 1_000_000);
+    }
+
+    public void recordRejected(Long petId, long byteCount, long durationNanos, String reason){
+        rejectedDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+        rejectedBytes.record(byteCount);
+        log.debug("Pet image upload rejected: pet={} bytes={} durationMs={} reason={}", petId, byteCount, durationNanos / 1_000_000, reason);
+    }
+
+    public long getAccepted() {
+        return acceptedDuration.count();
+    }
+
+    public long getRejected() {
+        return rejectedDuration.count();
+    }
+
+    public long getBytes() {
+        return (long) acceptedBytes.totalAmount();
+    }
+
+    private static Timer duration(MeterRegistry registry, String outcome){
+        return Timer.builder("sitswap.pet.image.upload")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static DistributionSummary bytes(MeterRegistry registry, String outcome){
+        return DistributionSummary.builder("sitswap.pet.image.upload.size")
+            .baseUnit("bytes")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+}
@@ -5,20 +5,30 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.example.sitswap.dto.ResourceVersion;
+import com.example.sitswap.dto.UserSummary;
 import com.example.sitswap.model.User;
 import com.example.sitswap.repository.UserRepository;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class UserService {
     
     private final UserRepository userRepo;
+    private final PointsLedger pointsLedger;
 
-    public UserService(UserRepository userRepo){
+    public UserService(UserRepository userRepo, PointsLedger pointsLedger){
         this.userRepo = userRepo;
+        this.pointsLedger = pointsLedger;
+    }
+
+    public List<UserSummary> getUsers(){
+        return userRepo.findAllSummaries();
     }
 
-    public List<User> getUsers(){
-        return userRepo.findAll();
+    public ResourceVersion getUsersVersion(){
+        return userRepo.findResourceVersion();
     }
 
     public User createNewUser(User user){
@@ -29,9 +39,12 @@ public class UserService {
         return userRepo.findById(id);
     }
 
+    public Optional<User> getUserByUsername(String username){
+        return userRepo.findByUsername(username);
+    }
+
+    @Transactional
     public void updatePoints(Long userId, int points){
-        User user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        user.setPoints(user.getPoints() + points);
-        userRepo.save(user);
+        pointsLedger.adjust(userId, points);
     }
 }
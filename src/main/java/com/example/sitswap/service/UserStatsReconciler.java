@@ -0,0 +1,150 @@
+package com.example.sitswap.service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.sitswap.dto.UserStatsSummary;
+import com.example.sitswap.dto.UserStatusCount;
+import com.example.sitswap.dto.UserTotal;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.UserStats;
+import com.example.sitswap.repository.DogsitRequestHistoryRepository;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.repository.UserStatsRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Recounts every user's totals from dogsit_request, dogsit_request_history and points_transaction, one batch of
+ * users at a time, and corrects user_stats rows that have drifted. Drift should never happen, so each correction
+ * is logged and counted in sitswap.user.stats.corrections.
+ */
+@Component
+public class UserStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsReconciler.class);
+
+    private final UserRepository userRepo;
+    private final UserStatsRepository statsRepo;
+    private final DogsitRequestRepository dogsitRepo;
+    private final DogsitRequestHistoryRepository historyRepo;
+    private final PointsTransactionRepository transactionRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter corrections;
+
+    public UserStatsReconciler(UserRepository userRepo, UserStatsRepository statsRepo, DogsitRequestRepository dogsitRepo,
+            DogsitRequestHistoryRepository historyRepo, PointsTransactionRepository transactionRepo,
+            TransactionTemplate transactionTemplate, MeterRegistry registry,
+            @Value("${sitswap.stats.reconcile-batch-size:200}") int batchSize){
+        this.userRepo = userRepo;
+        this.statsRepo = statsRepo;
+        this.dogsitRepo = dogsitRepo;
+        this.historyRepo = historyRepo;
+        this.transactionRepo = transactionRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.corrections = Counter.builder("sitswap.user.stats.corrections")
+            .description("user_stats rows found to disagree with their source rows and rewritten")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${sitswap.stats.reconcile-interval:PT6H}",
+        initialDelayString = "${sitswap.stats.reconcile-initial-delay:PT15M}")
+    public int reconcile(){
+        int corrected = 0;
+        Long afterId = 0L;
+        while(true){
+            List<Long> userIds = userRepo.findIdsAfter(afterId, Limit.of(batchSize));
+            if(userIds.isEmpty()){
+                break;
+            }
+
+            Map<Long, UserStatsSummary> stored = new HashMap<>();
+            for(UserStats stats : statsRepo.findAllById(userIds)){
+                stored.put(stats.getUserId(), UserStatsSummary.from(stats));
+            }
+            Map<Long, UserStatsSummary> actual = recount(userIds);
+            for(Long userId : userIds){
+                UserStatsSummary expected = actual.get(userId);
+                if(expected.equals(stored.getOrDefault(userId, UserStatsSummary.empty(userId)))){
+                    continue;
+                }
+                if(Boolean.TRUE.equals(transactionTemplate.execute(status -> correct(userId)))){
+                    corrected++;
+                }
+            }
+
+            afterId = userIds.get(userIds.size() - 1);
+            if(userIds.size() < batchSize){
+                break;
+            }
+        }
+        if(corrected > 0){
+            log.info("Corrected user stats for {} users", corrected);
+        }
+        return corrected;
+    }
+
+    // The batch pass reads without locks, so a request moving meanwhile can look like drift. Recounting with the
+    // stats row locked makes writers to this user's totals wait, and anything still different is real.
+    private boolean correct(Long userId){
+        UserStats stats = statsRepo.findForUpdate(userId).orElse(null);
+        if(stats == null){
+            statsRepo.insertIfMissing(userId);
+            stats = statsRepo.findForUpdate(userId).orElseThrow(() -> new RuntimeException("User stats not found"));
+        }
+        UserStatsSummary stored = UserStatsSummary.from(stats);
+        UserStatsSummary actual = recount(List.of(userId)).get(userId);
+        if(actual.equals(stored)){
+            return false;
+        }
+
+        log.warn("User {} stats drifted: stored {}, recounted {}", userId, stored, actual);
+        stats.correct(actual, Instant.now());
+        corrections.increment();
+        return true;
+    }
+
+    private Map<Long, UserStatsSummary> recount(List<Long> userIds){
+        Map<Long, Integer> pending = new HashMap<>();
+        Map<Long, Integer> booked = new HashMap<>();
+        for(UserStatusCount count : dogsitRepo.countOpenByOwner(userIds)){
+            (count.status() == RequestStatus.PENDING ? pending : booked).put(count.userId(), count.count().intValue());
+        }
+        Map<Long, Long> completedRequests = totals(historyRepo.countCompletedByOwner(userIds));
+        Map<Long, Long> upcomingSits = totals(dogsitRepo.countUpcomingBySitter(userIds));
+        Map<Long, Long> completedSits = totals(historyRepo.countCompletedBySitter(userIds));
+        Map<Long, Long> earned = totals(transactionRepo.sumTransfersTo(userIds));
+        Map<Long, Long> spent = totals(transactionRepo.sumTransfersFrom(userIds));
+
+        Map<Long, UserStatsSummary> actual = new HashMap<>();
+        for(Long userId : userIds){
+            actual.put(userId, new UserStatsSummary(userId, pending.getOrDefault(userId, 0), booked.getOrDefault(userId, 0),
+                completedRequests.getOrDefault(userId, 0L).intValue(), upcomingSits.getOrDefault(userId, 0L).intValue(),
+                completedSits.getOrDefault(userId, 0L).intValue(), earned.getOrDefault(userId, 0L), spent.getOrDefault(userId, 0L)));
+        }
+        return actual;
+    }
+
+    private static Map<Long, Long> totals(List<UserTotal> rows){
+        Map<Long, Long> totals = new HashMap<>();
+        for(UserTotal row : rows){
+            totals.put(row.userId(), row.total());
+        }
+        return totals;
+    }
+}
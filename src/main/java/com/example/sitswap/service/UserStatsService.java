@@ -0,0 +1,99 @@
+package com.example.sitswap.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.example.sitswap.dto.UserStatsSummary;
+import com.example.sitswap.repository.UserStatsRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Keeps each user's user_stats row in step with their requests and sits. Every change is applied inside the
+ * transaction that made it, so the totals commit or roll back together with the rows they count.
+ */
+@Service
+public class UserStatsService {
+
+    private record Delta(int pendingRequests, int bookedRequests, int completedRequests, int upcomingSits,
+            int completedSits, long pointsEarned, long pointsSpent) {
+
+        Delta plus(Delta other){
+            return new Delta(pendingRequests + other.pendingRequests, bookedRequests + other.bookedRequests,
+                completedRequests + other.completedRequests, upcomingSits + other.upcomingSits,
+                completedSits + other.completedSits, pointsEarned + other.pointsEarned, pointsSpent + other.pointsSpent);
+        }
+    }
+
+    private final UserStatsRepository statsRepo;
+
+    public UserStatsService(UserStatsRepository statsRepo){
+        this.statsRepo = statsRepo;
+    }
+
+    public UserStatsSummary getStats(Long userId){
+        return statsRepo.findById(userId).map(UserStatsSummary::from).orElseGet(() -> UserStatsSummary.empty(userId));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void requestsCreated(Long ownerId, int count){
+        if(ownerId == null || count == 0){
+            return;
+        }
+        Map<Long, Delta> deltas = new TreeMap<>();
+        deltas.put(ownerId, new Delta(count, 0, 0, 0, 0, 0, 0));
+        apply(deltas);
+    }
+
+    /**
+     * @param acceptedByOwner how many of the sitter's newly accepted requests belong to each owner
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void requestsAccepted(Long sitterId, Map<Long, Integer> acceptedByOwner){
+        Map<Long, Delta> deltas = new TreeMap<>();
+        int accepted = 0;
+        for(Map.Entry<Long, Integer> owner : acceptedByOwner.entrySet()){
+            deltas.merge(owner.getKey(), new Delta(-owner.getValue(), owner.getValue(), 0, 0, 0, 0, 0), Delta::plus);
+            accepted += owner.getValue();
+        }
+        if(accepted == 0){
+            return;
+        }
+        deltas.merge(sitterId, new Delta(0, 0, 0, accepted, 0, 0, 0), Delta::plus);
+        apply(deltas);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void requestsCompleted(Long ownerId, List<PointsLedger.Transfer> transfers){
+        if(transfers.isEmpty()){
+            return;
+        }
+        Map<Long, Delta> deltas = new TreeMap<>();
+        long spent = 0;
+        for(PointsLedger.Transfer transfer : transfers){
+            deltas.merge(transfer.toUserId(), new Delta(0, 0, 0, -1, 1, transfer.amount(), 0), Delta::plus);
+            spent += transfer.amount();
+        }
+        deltas.merge(ownerId, new Delta(0, -transfers.size(), transfers.size(), 0, 0, 0, spent), Delta::plus);
+        apply(deltas);
+    }
+
+    // Rows are touched in user id order, like PointsLedger, so two transactions crossing the same pair cannot deadlock.
+    private void apply(Map<Long, Delta> deltas){
+        for(Map.Entry<Long, Delta> entry : deltas.entrySet()){
+            if(increment(entry.getKey(), entry.getValue()) == 1){
+                continue;
+            }
+            statsRepo.insertIfMissing(entry.getKey());
+            increment(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private int increment(Long userId, Delta delta){
+        return statsRepo.increment(userId, delta.pendingRequests(), delta.bookedRequests(), delta.completedRequests(),
+            delta.upcomingSits(), delta.completedSits(), delta.pointsEarned(), delta.pointsSpent());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.sitswap.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileSystemImageStore implements ImageStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("[a-z0-9]{1,5}");
+
+    private final Path root;
+
+    public FileSystemImageStore(@Value("${sitswap.images.dir:${user.home}/.sitswap/images}") String directory) throws IOException {
+        this.root = Path.of(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public String put(Path source, String extension) throws IOException {
+        String normalizedExtension = extension.toLowerCase();
+        if(!EXTENSION_PATTERN.matcher(normalizedExtension).matches()){
+            throw new IllegalArgumentException("Invalid image extension: " + extension);
+        }
+
+        String key = sha256(source) + "." + normalizedExtension;
+        Path target = resolve(key);
+        if(Files.exists(target)){
+            return key;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path staging = Files.createTempFile(target.getParent(), "staging-", ".tmp");
+        try {
+            Files.copy(source, staging, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+        return key;
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        if(key == null || !KEY_PATTERN.matcher(key).matches()){
+            return Optional.empty();
+        }
+        Path file = resolve(key);
+        if(!Files.isRegularFile(file)){
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(file));
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return "/images/store/" + key;
+    }
+
+    private Path resolve(String key){
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
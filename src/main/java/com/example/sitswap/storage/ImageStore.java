@@ -0,0 +1,16 @@
+package com.example.sitswap.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.core.io.Resource;
+
+public interface ImageStore {
+
+    String put(Path source, String extension) throws IOException;
+
+    Optional<Resource> get(String key);
+
+    String urlFor(String key);
+}
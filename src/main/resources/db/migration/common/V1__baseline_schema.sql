@@ -0,0 +1,119 @@
+-- Schema as Hibernate's ddl-auto=update left it. Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs against an empty schema.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence pets_seq start with 1 increment by 50;
+create sequence dogsit_request_seq start with 1 increment by 50;
+create sequence points_transaction_seq start with 1 increment by 50;
+create sequence recurring_dogsit_schedule_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    name varchar(255),
+    email varchar(255),
+    username varchar(255) not null,
+    password varchar(255) not null,
+    points integer not null,
+    version bigint default 0 not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table pets (
+    id bigint not null,
+    name varchar(255) not null,
+    breed varchar(255) not null,
+    age integer not null,
+    size varchar(255) not null,
+    description text,
+    special_needs text,
+    energy_level varchar(255),
+    image_url varchar(255),
+    thumbnail_url varchar(255),
+    card_image_url varchar(255),
+    user_id bigint not null,
+    version bigint default 0 not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint fk_pets_user foreign key (user_id) references users (id)
+);
+
+create table dogsit_request (
+    id bigint not null,
+    description varchar(255),
+    start_time timestamp(6),
+    end_time timestamp(6),
+    location varchar(255),
+    latitude float(53),
+    longitude float(53),
+    pet_name varchar(255),
+    pet_breed varchar(255),
+    pet_age integer,
+    pet_size varchar(255),
+    pet_description varchar(255),
+    pet_special_needs varchar(255),
+    pet_energy_level varchar(255),
+    pet_image_url varchar(255),
+    pet_id bigint,
+    owner_id bigint,
+    accepted_by_id bigint,
+    schedule_id bigint,
+    status varchar(255),
+    version bigint default 0 not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint ck_dogsit_status check (status in ('PENDING', 'ACCEPTED', 'COMPLETED')),
+    constraint uk_dogsit_schedule_start unique (schedule_id, start_time),
+    constraint fk_dogsit_pet foreign key (pet_id) references pets (id),
+    constraint fk_dogsit_owner foreign key (owner_id) references users (id),
+    constraint fk_dogsit_accepted_by foreign key (accepted_by_id) references users (id)
+);
+
+create table points_transaction (
+    id bigint not null,
+    from_user_id bigint,
+    to_user_id bigint,
+    amount integer not null,
+    type varchar(255) not null,
+    dogsit_request_id bigint,
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint ck_points_tx_type check (type in ('TRANSFER', 'ADJUSTMENT'))
+);
+
+create table recurring_dogsit_schedule (
+    id bigint not null,
+    owner_id bigint not null,
+    pet_id bigint,
+    description varchar(255),
+    location varchar(255),
+    latitude float(53),
+    longitude float(53),
+    pet_name varchar(255),
+    pet_breed varchar(255),
+    pet_age integer,
+    pet_size varchar(255),
+    pet_description varchar(255),
+    pet_special_needs varchar(255),
+    pet_energy_level varchar(255),
+    pet_image_url varchar(255),
+    days_of_week integer not null,
+    start_time_of_day time(6) not null,
+    duration_minutes integer not null,
+    starts_on date not null,
+    ends_on date,
+    materialized_through date,
+    active boolean not null,
+    primary key (id),
+    constraint fk_schedule_owner foreign key (owner_id) references users (id),
+    constraint fk_schedule_pet foreign key (pet_id) references pets (id)
+);
+
+create index idx_dogsit_status_start on dogsit_request (status, start_time, id);
+create index idx_dogsit_owner_status_start on dogsit_request (owner_id, status, start_time, id);
+create index idx_dogsit_status_size_energy_start on dogsit_request (status, pet_size, pet_energy_level, start_time, id);
+create index idx_points_tx_from_user on points_transaction (from_user_id, created_at);
+create index idx_points_tx_to_user on points_transaction (to_user_id, created_at);
+create index idx_schedule_active_materialized on recurring_dogsit_schedule (active, materialized_through);
+create index idx_schedule_owner on recurring_dogsit_schedule (owner_id);
@@ -0,0 +1,32 @@
+-- Running per-user totals for the dashboard, kept current by UserStatsService in the same transaction as each
+-- create, accept and complete, and checked against the source rows by UserStatsReconciler.
+-- Like points_transaction there is no foreign key to users, so removing a user never has to touch it.
+
+create table user_stats (
+    user_id bigint not null,
+    pending_requests integer default 0 not null,
+    booked_requests integer default 0 not null,
+    completed_requests integer default 0 not null,
+    upcoming_sits integer default 0 not null,
+    completed_sits integer default 0 not null,
+    points_earned bigint default 0 not null,
+    points_spent bigint default 0 not null,
+    updated_at timestamp(6) with time zone,
+    corrected_at timestamp(6) with time zone,
+    primary key (user_id)
+);
+
+insert into user_stats (user_id, pending_requests, booked_requests, completed_requests, upcoming_sits, completed_sits,
+        points_earned, points_spent, updated_at)
+select u.id,
+    (select count(*) from dogsit_request r where r.owner_id = u.id and r.status = 'PENDING'),
+    (select count(*) from dogsit_request r where r.owner_id = u.id and r.status = 'ACCEPTED'),
+    (select count(*) from dogsit_request r where r.owner_id = u.id and r.status = 'COMPLETED')
+        + (select count(*) from dogsit_request_history h where h.owner_id = u.id),
+    (select count(*) from dogsit_request r where r.accepted_by_id = u.id and r.status = 'ACCEPTED'),
+    (select count(*) from dogsit_request r where r.accepted_by_id = u.id and r.status = 'COMPLETED')
+        + (select count(*) from dogsit_request_history h where h.accepted_by_id = u.id),
+    (select coalesce(sum(t.amount), 0) from points_transaction t where t.to_user_id = u.id and t.type = 'TRANSFER'),
+    (select coalesce(sum(t.amount), 0) from points_transaction t where t.from_user_id = u.id and t.type = 'TRANSFER'),
+    current_timestamp
+from users u;
@@ -0,0 +1,79 @@
+-- Same upgrade as the PostgreSQL migration. H2 has no setval, so the sequences are moved past the existing ids here
+-- rather than in V2.
+
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists pets_seq start with 1 increment by 50;
+create sequence if not exists dogsit_request_seq start with 1 increment by 50;
+create sequence if not exists points_transaction_seq start with 1 increment by 50;
+create sequence if not exists recurring_dogsit_schedule_seq start with 1 increment by 50;
+
+alter table users alter column id drop identity;
+alter table pets alter column id drop identity;
+alter table dogsit_request alter column id drop identity;
+
+alter table users add column if not exists version bigint default 0 not null;
+alter table users add column if not exists updated_at timestamp(6) with time zone;
+alter table pets add column if not exists thumbnail_url varchar(255);
+alter table pets add column if not exists card_image_url varchar(255);
+alter table pets add column if not exists version bigint default 0 not null;
+alter table pets add column if not exists updated_at timestamp(6) with time zone;
+alter table dogsit_request add column if not exists latitude float(53);
+alter table dogsit_request add column if not exists longitude float(53);
+alter table dogsit_request add column if not exists schedule_id bigint;
+alter table dogsit_request add column if not exists version bigint default 0 not null;
+alter table dogsit_request add column if not exists updated_at timestamp(6) with time zone;
+alter table dogsit_request add constraint if not exists uk_dogsit_schedule_start unique (schedule_id, start_time);
+
+create table if not exists points_transaction (
+    id bigint not null,
+    from_user_id bigint,
+    to_user_id bigint,
+    amount integer not null,
+    type varchar(255) not null,
+    dogsit_request_id bigint,
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint ck_points_tx_type check (type in ('TRANSFER', 'ADJUSTMENT'))
+);
+
+create table if not exists recurring_dogsit_schedule (
+    id bigint not null,
+    owner_id bigint not null,
+    pet_id bigint,
+    description varchar(255),
+    location varchar(255),
+    latitude float(53),
+    longitude float(53),
+    pet_name varchar(255),
+    pet_breed varchar(255),
+    pet_age integer,
+    pet_size varchar(255),
+    pet_description varchar(255),
+    pet_special_needs varchar(255),
+    pet_energy_level varchar(255),
+    pet_image_url varchar(255),
+    days_of_week integer not null,
+    start_time_of_day time(6) not null,
+    duration_minutes integer not null,
+    starts_on date not null,
+    ends_on date,
+    materialized_through date,
+    active boolean not null,
+    primary key (id),
+    constraint fk_schedule_owner foreign key (owner_id) references users (id),
+    constraint fk_schedule_pet foreign key (pet_id) references pets (id)
+);
+
+create index if not exists idx_dogsit_status_start on dogsit_request (status, start_time, id);
+create index if not exists idx_dogsit_owner_status_start on dogsit_request (owner_id, status, start_time, id);
+create index if not exists idx_dogsit_status_size_energy_start on dogsit_request (status, pet_size, pet_energy_level, start_time, id);
+create index if not exists idx_points_tx_from_user on points_transaction (from_user_id, created_at);
+create index if not exists idx_points_tx_to_user on points_transaction (to_user_id, created_at);
+create index if not exists idx_schedule_active_materialized on recurring_dogsit_schedule (active, materialized_through);
+create index if not exists idx_schedule_owner on recurring_dogsit_schedule (owner_id);
+
+alter sequence users_seq restart with (select coalesce(max(id), 0) + 50 from users);
+alter sequence pets_seq restart with (select coalesce(max(id), 0) + 50 from pets);
+alter sequence dogsit_request_seq restart with (select coalesce(max(id), 0) + 50 from dogsit_request);
+alter sequence points_transaction_seq restart with (select coalesce(max(id), 0) + 50 from points_transaction);
+alter sequence recurring_dogsit_schedule_seq restart with (select coalesce(max(id), 0) + 50 from recurring_dogsit_schedule);
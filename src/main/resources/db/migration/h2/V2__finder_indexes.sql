@@ -0,0 +1,8 @@
+-- Same indexes as the PostgreSQL migration. H2 has no partial indexes, so the PENDING board relies on
+-- idx_dogsit_status_start here, and there are no pre-existing sequences to move.
+
+create index idx_dogsit_accepted_by_status_start on dogsit_request (accepted_by_id, status, start_time, id);
+create index idx_dogsit_pet on dogsit_request (pet_id);
+create index idx_pets_user on pets (user_id);
+create index idx_schedule_pet on recurring_dogsit_schedule (pet_id);
+create unique index uk_users_email on users (email);
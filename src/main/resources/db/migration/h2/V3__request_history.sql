@@ -0,0 +1,33 @@
+-- Same tables as the PostgreSQL migration, without partitioning or the partial index.
+
+alter table dogsit_request add column completed_at timestamp(6) with time zone;
+update dogsit_request set completed_at = coalesce(updated_at, current_timestamp) where status = 'COMPLETED';
+create index idx_dogsit_completed on dogsit_request (status, completed_at, id);
+
+create table dogsit_request_history (
+    id bigint not null,
+    description varchar(255),
+    start_time timestamp(6),
+    end_time timestamp(6),
+    location varchar(255),
+    latitude float(53),
+    longitude float(53),
+    pet_name varchar(255),
+    pet_breed varchar(255),
+    pet_age integer,
+    pet_size varchar(255),
+    pet_description varchar(255),
+    pet_special_needs varchar(255),
+    pet_energy_level varchar(255),
+    pet_image_url varchar(255),
+    pet_id bigint,
+    owner_id bigint,
+    accepted_by_id bigint,
+    schedule_id bigint,
+    completed_at timestamp(6) with time zone not null,
+    archived_at timestamp(6) with time zone not null,
+    primary key (id, completed_at)
+);
+
+create index idx_history_owner_completed on dogsit_request_history (owner_id, completed_at, id);
+create index idx_history_sitter_completed on dogsit_request_history (accepted_by_id, completed_at, id);
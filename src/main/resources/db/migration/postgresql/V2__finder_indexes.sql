@@ -0,0 +1,19 @@
+-- Indexes for the finders ddl-auto never covered. "if not exists" keeps this safe on baselined databases
+-- where some of them were added by hand.
+
+-- The PENDING board (findSummariesByStatus(PENDING), ordered by start time) is the hottest read; a partial
+-- index keeps it small because accepted and completed rows never enter it.
+create index if not exists idx_dogsit_pending_start on dogsit_request (start_time, id) where status = 'PENDING';
+create index if not exists idx_dogsit_accepted_by_status_start on dogsit_request (accepted_by_id, status, start_time, id);
+create index if not exists idx_dogsit_pet on dogsit_request (pet_id);
+create index if not exists idx_pets_user on pets (user_id);
+create index if not exists idx_schedule_pet on recurring_dogsit_schedule (pet_id);
+-- Fails if existing rows share an email; see "Upgrading an Existing Database" in the README.
+create unique index if not exists uk_users_email on users (email);
+
+-- Databases from before the pooled sequences (allocation size 50) can have ids past the sequence; never move one backwards.
+select setval('users_seq', greatest((select coalesce(max(id), 0) from users) + 50, (select last_value from users_seq)));
+select setval('pets_seq', greatest((select coalesce(max(id), 0) from pets) + 50, (select last_value from pets_seq)));
+select setval('dogsit_request_seq', greatest((select coalesce(max(id), 0) from dogsit_request) + 50, (select last_value from dogsit_request_seq)));
+select setval('points_transaction_seq', greatest((select coalesce(max(id), 0) from points_transaction) + 50, (select last_value from points_transaction_seq)));
+select setval('recurring_dogsit_schedule_seq', greatest((select coalesce(max(id), 0) from recurring_dogsit_schedule) + 50, (select last_value from recurring_dogsit_schedule_seq)));
@@ -0,0 +1,37 @@
+-- Completed requests older than sitswap.archive.completed-after move from dogsit_request into this table.
+-- It is range-partitioned by month on completed_at; RequestArchiver creates each month's partition before moving
+-- rows into it, and the default partition only catches rows that arrive ahead of their partition.
+
+alter table dogsit_request add column completed_at timestamp(6) with time zone;
+update dogsit_request set completed_at = coalesce(updated_at, now()) where status = 'COMPLETED';
+create index idx_dogsit_completed on dogsit_request (completed_at, id) where status = 'COMPLETED';
+
+create table dogsit_request_history (
+    id bigint not null,
+    description varchar(255),
+    start_time timestamp(6),
+    end_time timestamp(6),
+    location varchar(255),
+    latitude float(53),
+    longitude float(53),
+    pet_name varchar(255),
+    pet_breed varchar(255),
+    pet_age integer,
+    pet_size varchar(255),
+    pet_description varchar(255),
+    pet_special_needs varchar(255),
+    pet_energy_level varchar(255),
+    pet_image_url varchar(255),
+    pet_id bigint,
+    owner_id bigint,
+    accepted_by_id bigint,
+    schedule_id bigint,
+    completed_at timestamp(6) with time zone not null,
+    archived_at timestamp(6) with time zone not null,
+    primary key (id, completed_at)
+) partition by range (completed_at);
+
+create table dogsit_request_history_default partition of dogsit_request_history default;
+
+create index idx_history_owner_completed on dogsit_request_history (owner_id, completed_at, id);
+create index idx_history_sitter_completed on dogsit_request_history (accepted_by_id, completed_at, id);
@@ -0,0 +1,48 @@
+package com.example.sitswap.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CachingPasswordEncoderTests {
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private final PasswordEncoder counting = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            checks.incrementAndGet();
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    };
+
+    @Test
+    void keepsCachingNewLoginsOnceFull(){
+        CachingPasswordEncoder encoder = new CachingPasswordEncoder(counting, Duration.ofMinutes(10), 100);
+        for(int i = 0; i < 500; i++){
+            assertThat(encoder.matches("secret" + i, "{plain}secret" + i)).isTrue();
+        }
+
+        checks.set(0);
+        assertThat(encoder.matches("late", "{plain}late")).isTrue();
+        assertThat(encoder.matches("late", "{plain}late")).isTrue();
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    void failedChecksAreNeverCached(){
+        CachingPasswordEncoder encoder = new CachingPasswordEncoder(counting, Duration.ofMinutes(10), 100);
+        assertThat(encoder.matches("wrong", "{plain}secret")).isFalse();
+        assertThat(encoder.matches("wrong", "{plain}secret")).isFalse();
+        assertThat(checks).hasValue(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sitswap.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenBucketRateLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsABurstThenRefillsAtTheConfiguredRate(){
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, Duration.ofMinutes(1), 1024, clock::get);
+
+        for(int i = 0; i < 5; i++){
+            assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(limiter.retryAfter("10.0.0.1")).isEqualTo(Duration.ofSeconds(12));
+        assertThat(limiter.tryAcquire("10.0.0.2")).isTrue();
+
+        clock.addAndGet(Duration.ofSeconds(12).toNanos());
+        assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        for(int i = 0; i < 5; i++){
+            assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, Duration.ofHours(1), 1024, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for(int t = 0; t < 8; t++){
+            results.add(pool.submit(() -> {
+                for(int i = 0; i < 1000; i++){
+                    if(limiter.tryAcquire("alice")){
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for(Future<?> result : results){
+            result.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void saturatedHashingPoolFailsFast(){
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), task -> {
+            throw new RejectedExecutionException("queue full");
+        }, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> encoder.matches("secret", "$2a$04$invalidinvalidinvalidinvalidinvalidinvalidinvalidinv"))
+            .isInstanceOf(PasswordHashingBusyException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.sitswap.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest(properties = "sitswap.auth.rate-limit.username.permits=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthThrottlingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void cleanUp(){
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void repeatedLoginsForOneAccountAreThrottled() throws Exception {
+        userRepo.save(new User("Target", "target@example.com", "target", passwordEncoder.encode("secret"), 100));
+
+        for(int i = 0; i < 3; i++){
+            mockMvc.perform(login("Target", "wrong"))
+                .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(login("target", "secret"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+            .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(login("someone-else", "secret"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder login(String username, String password){
+        return post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.config.BulkheadDataSource;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.UserRepository;
+
+/**
+ * Drives many concurrent authenticated requests through a deliberately small connection pool.
+ * Run with -Dsitswap.loadtest=true, once on Java 17 and once with -Pjava21 on a 21 JDK, and compare the logged throughput.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.hikari.maximum-pool-size=5",
+    "sitswap.datasource.acquire-timeout-ms=30000"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "sitswap.loadtest", matches = "true")
+class ConcurrencyLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLoadTests.class);
+
+    private static final int USERS = 50;
+    private static final int CLIENTS = Integer.getInteger("sitswap.loadtest.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("sitswap.loadtest.requests", 25);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp(){
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void highConcurrencyDoesNotStarveThePool() throws Exception {
+        String hash = passwordEncoder.encode("secret");
+        List<User> users = new ArrayList<>();
+        for(int i = 0; i < USERS; i++){
+            User user = userRepo.save(new User("User " + i, "user" + i + "@example.com", "load" + i, hash, 100));
+            petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, user));
+            users.add(user);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        // One sequential pass pays each user's BCrypt check up front, so the timed run measures steady state.
+        for(User user : users){
+            assertThat(client.send(pets(user), HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> failures = new ArrayList<>();
+        for(int c = 0; c < CLIENTS; c++){
+            HttpRequest request = pets(users.get(c % USERS));
+            failures.add(clients.submit(() -> {
+                start.await();
+                int failed = 0;
+                for(int r = 0; r < REQUESTS_PER_CLIENT; r++){
+                    if(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200){
+                        failed++;
+                    }
+                }
+                return failed;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        int failed = 0;
+        for(Future<Integer> result : failures){
+            failed += result.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        clients.shutdownNow();
+
+        BulkheadDataSource bulkhead = (BulkheadDataSource) dataSource;
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        log.info("{} requests from {} clients in {}s ({} req/s) on Java {}, peak {} of {} connection permits in use",
+            total, CLIENTS, String.format("%.2f", seconds), String.format("%.0f", total / seconds),
+            Runtime.version().feature(), bulkhead.getPeakInUse(), bulkhead.getMaxConcurrent());
+
+        assertThat(failed).isZero();
+        assertThat(bulkhead.getPeakInUse()).isLessThanOrEqualTo(bulkhead.getMaxConcurrent());
+        assertThat(bulkhead.getInUse()).isZero();
+    }
+
+    private HttpRequest pets(User user){
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + user.getId() + "/pets"))
+            .header("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString((user.getUsername() + ":secret").getBytes(StandardCharsets.UTF_8)))
+            .timeout(Duration.ofSeconds(60))
+            .build();
+    }
+}
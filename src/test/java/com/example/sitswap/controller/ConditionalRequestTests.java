@@ -0,0 +1,188 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.service.DogsitRequestService;
+import com.example.sitswap.service.PetService;
+import com.example.sitswap.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User sitter;
+    private Pet pet;
+
+    @BeforeEach
+    void seed(){
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", passwordEncoder.encode("secret"), 100));
+        sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", passwordEncoder.encode("secret"), 100));
+        pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+    }
+
+    @AfterEach
+    void cleanUp(){
+        dogsitRepo.deleteAll();
+        transactionRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void unchangedUserRevalidatesTo304AndPointChangesInvalidate() throws Exception {
+        String path = "/users/" + owner.getId();
+        String etag = revalidate(path);
+
+        userService.updatePoints(owner.getId(), 5);
+
+        String changed = mockMvc.perform(authenticated(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void petAndPetListTrackUpdates() throws Exception {
+        String petEtag = revalidate("/pets/" + pet.getId());
+        String listEtag = revalidate("/users/" + owner.getId() + "/pets");
+
+        Pet update = new Pet("Rex", "Beagle", 4, "medium", null, null, "high", null, null);
+        petService.updatePet(pet.getId(), update);
+
+        mockMvc.perform(authenticated(get("/pets/" + pet.getId())).header(HttpHeaders.IF_NONE_MATCH, petEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(authenticated(get("/users/" + owner.getId() + "/pets")).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void requestListsChangeWhenARequestIsAccepted() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        DogsitRequest request = dogsitService.createRequest(
+            new DogsitRequest("Walk", start, start.plusHours(1), "Park", owner, null, RequestStatus.PENDING));
+
+        String allEtag = revalidate("/dogsits");
+        String acceptedEtag = revalidate("/dogsits/status/ACCEPTED");
+        String usersEtag = revalidate("/users");
+
+        dogsitService.acceptRequest(request.getId(), sitter.getId());
+
+        mockMvc.perform(get("/dogsits").header(HttpHeaders.IF_NONE_MATCH, allEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/dogsits/status/ACCEPTED").header(HttpHeaders.IF_NONE_MATCH, acceptedEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/users").header(HttpHeaders.IF_NONE_MATCH, usersEtag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void requestListsChangeWhenAnEmbeddedUserChanges() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        dogsitService.createRequest(new DogsitRequest("Walk", start, start.plusHours(1), "Park", owner, null, RequestStatus.PENDING));
+
+        String allEtag = revalidate("/dogsits");
+
+        User renamed = userRepo.findById(owner.getId()).orElseThrow();
+        renamed.setName("Renamed Owner");
+        userRepo.save(renamed);
+
+        mockMvc.perform(get("/dogsits").header(HttpHeaders.IF_NONE_MATCH, allEtag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void requestListsChangeWhenTheirPetChanges() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        DogsitRequest request = new DogsitRequest("Walk", start, start.plusHours(1), "Park", owner, null, RequestStatus.PENDING);
+        request.setPet(pet);
+        dogsitRepo.save(request);
+
+        String allEtag = revalidate("/dogsits");
+
+        petService.updatePet(pet.getId(), new Pet("Rex", "Beagle", 4, "medium", null, null, "high", null, null));
+
+        mockMvc.perform(get("/dogsits").header(HttpHeaders.IF_NONE_MATCH, allEtag))
+            .andExpect(status().isOk());
+    }
+
+    private String revalidate(String path) throws Exception {
+        String etag = mockMvc.perform(authenticated(get(path)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        mockMvc.perform(authenticated(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        return etag;
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request){
+        String credentials = Base64.getEncoder().encodeToString("owner:secret".getBytes(StandardCharsets.UTF_8));
+        return request.header(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DogsitRequestControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void seed(){
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", passwordEncoder.encode("secret"), 100));
+        other = userRepo.save(new User("Other", "other@example.com", "other", passwordEncoder.encode("secret"), 100));
+    }
+
+    @AfterEach
+    void cleanUp(){
+        jdbcTemplate.update("delete from user_stats");
+        dogsitRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void batchCreateIgnoresServerOwnedFields() throws Exception {
+        String body = """
+            [{"id": 999999, "version": 42, "status": "COMPLETED", "acceptedBy": {"id": %d}, "owner": {"id": %d},
+              "description": "Walk", "location": "Park",
+              "startTime": "2030-01-01T09:00:00", "endTime": "2030-01-01T10:00:00"}]
+            """.formatted(other.getId(), other.getId());
+
+        mockMvc.perform(post("/dogsits/batch").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header(HttpHeaders.AUTHORIZATION, basic("owner")))
+            .andExpect(status().isOk());
+
+        List<DogsitRequest> saved = dogsitRepo.findAll();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getId()).isNotEqualTo(999999L);
+        assertThat(saved.get(0).getStatus()).isEqualTo(RequestStatus.PENDING);
+        assertThat(saved.get(0).getAcceptedBy()).isNull();
+        assertThat(saved.get(0).getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(saved.get(0).getVersion()).isZero();
+    }
+
+    @Test
+    void createRejectsAnotherUsersPet() throws Exception {
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, other));
+        String body = """
+            {"description": "Walk", "location": "Park", "petId": %d,
+             "startTime": "2030-01-01T09:00:00", "endTime": "2030-01-01T10:00:00"}
+            """.formatted(pet.getId());
+
+        mockMvc.perform(post("/dogsits").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header(HttpHeaders.AUTHORIZATION, basic("owner")))
+            .andExpect(status().isBadRequest());
+        assertThat(dogsitRepo.count()).isZero();
+    }
+
+    private static String basic(String username){
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+    }
+}
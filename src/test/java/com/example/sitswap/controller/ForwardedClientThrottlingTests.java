@@ -0,0 +1,53 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+// MockMvc skips Tomcat's valves, so the forwarded address is only resolved against a real server.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = { "sitswap.auth.rate-limit.ip.permits=2", "management.server.port=0" })
+@ActiveProfiles("test")
+class ForwardedClientThrottlingTests {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void clientsBehindTheProxyAreThrottledSeparately() throws Exception {
+        assertThat(login("203.0.113.7", "first").statusCode()).isEqualTo(400);
+        assertThat(login("203.0.113.7", "second").statusCode()).isEqualTo(400);
+
+        HttpResponse<String> throttled = login("203.0.113.7", "third");
+        assertThat(throttled.statusCode()).isEqualTo(429);
+        assertThat(throttled.headers().firstValue("Retry-After")).isPresent();
+
+        assertThat(login("198.51.100.20", "fourth").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void addressesPrependedByTheClientAreIgnored() throws Exception {
+        assertThat(login("10.0.0.1, 192.0.2.9", "first").statusCode()).isEqualTo(400);
+        assertThat(login("10.0.0.2, 192.0.2.9", "second").statusCode()).isEqualTo(400);
+        assertThat(login("10.0.0.3, 192.0.2.9", "third").statusCode()).isEqualTo(429);
+    }
+
+    private HttpResponse<String> login(String forwardedFor, String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .header("X-Forwarded-For", forwardedFor)
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"wrong\"}"))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
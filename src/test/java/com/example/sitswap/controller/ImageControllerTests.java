@@ -0,0 +1,87 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.sitswap.storage.ImageStore;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImageControllerTests {
+
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        String content = "pet-image-" + UUID.randomUUID();
+        Path first = temp(content);
+        Path second = temp(content);
+
+        String key = imageStore.put(first, "jpg");
+        assertThat(imageStore.put(second, "JPG")).isEqualTo(key);
+        assertThat(imageStore.put(temp(content + "-edited"), "jpg")).isNotEqualTo(key);
+        assertThat(imageStore.put(temp(content), "png")).isNotEqualTo(key);
+
+        Path stored = imageStore.get(key).orElseThrow().getFile().toPath();
+        assertThat(stored.getFileName()).hasToString(key);
+        assertThat(Files.list(stored.getParent()).filter(file -> file.getFileName().toString().startsWith("staging-")))
+            .isEmpty();
+        assertThat(first).exists();
+    }
+
+    @Test
+    void storedImagesAreImmutableAndRevalidateTo304() throws Exception {
+        String key = imageStore.put(temp("pet-image-" + UUID.randomUUID()), "jpg");
+        String url = imageStore.urlFor(key);
+
+        String etag = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"" + key.substring(0, key.indexOf('.')) + "\"");
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void unknownOrMalformedKeysAreNotFound() throws Exception {
+        mockMvc.perform(get("/images/store/" + "0".repeat(64) + ".jpg"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/images/store/not-a-hash.jpg"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static Path temp(String content) throws IOException {
+        Path file = Files.createTempFile("image-store-", ".tmp");
+        Files.writeString(file, content);
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.service.DogsitRequestService;
+import com.example.sitswap.service.RequestAlreadyTakenException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsTests {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DogsitRequestService service;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @AfterEach
+    void cleanUp(){
+        dogsitRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void acceptOutcomesAreTimedSeparatelyAndScrapeable() throws Exception {
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        User first = userRepo.save(new User("First", "first@example.com", "first", "hash", 0));
+        User second = userRepo.save(new User("Second", "second@example.com", "second", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long requestId = service.createRequest(new DogsitRequest("Walk", start, start.plusHours(1), "Park", owner, null, null)).getId();
+
+        long accepted = acceptCount("accepted");
+        long taken = acceptCount("already-taken");
+
+        service.acceptRequest(requestId, first.getId());
+        assertThatThrownBy(() -> service.acceptRequest(requestId, second.getId()))
+            .isInstanceOf(RequestAlreadyTakenException.class);
+
+        assertThat(acceptCount("accepted")).isEqualTo(accepted + 1);
+        assertThat(acceptCount("already-taken")).isEqualTo(taken + 1);
+
+        HttpResponse<String> scrape = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + managementPort + "/actuator/prometheus")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+            .contains("sitswap_dogsit_accept_seconds_count{application=\"sitswap\",outcome=\"already-taken\"}")
+            .contains("sitswap_datasource_bulkhead_wait_seconds_count")
+            .contains("hikaricp_connections_acquire_seconds_bucket")
+            .contains("hibernate_second_level_cache_requests_total");
+    }
+
+    private long acceptCount(String outcome){
+        var timer = meterRegistry.find("sitswap.dogsit.accept").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.sitswap.dto.RecurringScheduleForm;
+import com.example.sitswap.index.PendingBoardCache;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.RecurringDogsitScheduleRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.service.DogsitRequestService;
+import com.example.sitswap.service.RecurringScheduleService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PendingBoardTests {
+
+    private static final String BOARD = "/dogsits/status/PENDING";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private RecurringScheduleService scheduleService;
+
+    @Autowired
+    private PendingBoardCache pendingBoard;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private RecurringDogsitScheduleRepository scheduleRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User sitter;
+    private User other;
+
+    @BeforeEach
+    void seed(){
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", passwordEncoder.encode("secret"), 100));
+        other = userRepo.save(new User("Other", "other@example.com", "other", passwordEncoder.encode("secret"), 100));
+        pendingBoard.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp(){
+        dogsitRepo.deleteAll();
+        scheduleRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+        pendingBoard.rebuild();
+    }
+
+    @Test
+    void cachedBoardIsServedWithoutQueriesAndRevalidatesTo304() throws Exception {
+        DogsitRequest request = createRequest("Evening walk");
+
+        String etag = mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(request.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        statistics().clear();
+        mockMvc.perform(get(BOARD).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+        assertThat(statistics().getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writesThroughTheServiceChangeTheBoard() throws Exception {
+        DogsitRequest request = createRequest("Evening walk");
+        String etag = mockMvc.perform(get(BOARD)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        createRequest("Morning walk");
+        String afterCreate = mockMvc.perform(get(BOARD).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterCreate).isNotEqualTo(etag);
+
+        dogsitService.acceptRequest(request.getId(), sitter.getId());
+        mockMvc.perform(get(BOARD).header(HttpHeaders.IF_NONE_MATCH, afterCreate))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].description").value("Morning walk"));
+    }
+
+    @Test
+    void scheduleChangesRefreshVirtualOccurrences() throws Exception {
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        var schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(), "Daily walk", "Park",
+            null, null, EnumSet.allOf(DayOfWeek.class), LocalTime.of(9, 0), 60, LocalDate.now().plusDays(1), null));
+
+        mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(scheduleService.getHorizonDays() + scheduleService.getProjectionDays()))
+            .andExpect(jsonPath("$[0].scheduleId").value(schedule.getId()))
+            .andExpect(jsonPath("$[0].virtual").value(true))
+            .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        scheduleService.deactivateSchedule(schedule.getId(), owner.getId());
+        mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void materializedOccurrencesReplaceTheirVirtualEntry() throws Exception {
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        var schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(), "Daily walk", "Park",
+            null, null, EnumSet.allOf(DayOfWeek.class), LocalTime.of(9, 0), 60, LocalDate.now().plusDays(1), null));
+        int projected = scheduleService.getHorizonDays() + scheduleService.getProjectionDays();
+        String etag = mockMvc.perform(get(BOARD)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // What the materializer saves for the first occurrence, ahead of its schedule refresh.
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        DogsitRequest first = new DogsitRequest("Daily walk", start, start.plusHours(1), "Park", null, null, RequestStatus.PENDING);
+        first.setScheduleId(schedule.getId());
+        dogsitService.createRequests(owner, List.of(first));
+
+        mockMvc.perform(get(BOARD).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(projected))
+            .andExpect(jsonPath("$[0].id").value(first.getId()))
+            .andExpect(jsonPath("$[0].virtual").value(false))
+            .andExpect(jsonPath("$[1].virtual").value(true))
+            .andExpect(jsonPath("$[1].startTime").value(start.plusDays(1).toString() + ":00"));
+    }
+
+    @Test
+    void acceptingAVirtualOccurrenceTakesItOffTheBoard() throws Exception {
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        var schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(), "Daily walk", "Park",
+            null, null, EnumSet.allOf(DayOfWeek.class), LocalTime.of(9, 0), 60, LocalDate.now().plusDays(1), null));
+        int projected = scheduleService.getHorizonDays() + scheduleService.getProjectionDays();
+        LocalDateTime start = LocalDate.now().plusDays(scheduleService.getHorizonDays() + 1).atTime(9, 0);
+        String path = "/dogsits/schedules/" + schedule.getId() + "/occurrences/" + start + "/accept/";
+
+        mockMvc.perform(put(path + sitter.getId()).header(HttpHeaders.AUTHORIZATION, basic("sitter")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requestId").exists());
+        mockMvc.perform(put(path + other.getId()).header(HttpHeaders.AUTHORIZATION, basic("other")))
+            .andExpect(status().isConflict());
+
+        DogsitRequest accepted = dogsitRepo.findAll().get(0);
+        assertThat(accepted.getScheduleId()).isEqualTo(schedule.getId());
+        assertThat(accepted.getStartTime()).isEqualTo(start);
+        assertThat(accepted.getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+        mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(projected - 1))
+            .andExpect(jsonPath("$[?(@.startTime == '" + start + ":00')]").isEmpty());
+    }
+
+    @Test
+    void occurrencesDropOffOnceTheyStart() throws Exception {
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(2).withNano(0);
+        scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(), "Daily walk", "Park", null, null,
+            EnumSet.allOf(DayOfWeek.class), soon.toLocalTime(), 60, soon.toLocalDate(), null));
+        int before = scheduleService.getVirtualOccurrences().size();
+        mockMvc.perform(get(BOARD))
+            .andExpect(jsonPath("$.length()").value(before));
+
+        Thread.sleep(Duration.between(LocalDateTime.now(), soon).plusMillis(100).toMillis());
+        mockMvc.perform(get(BOARD))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(before - 1));
+    }
+
+    private DogsitRequest createRequest(String description){
+        LocalDateTime start = LocalDateTime.now().plusDays(description.startsWith("Morning") ? 1 : 2);
+        DogsitRequest request = new DogsitRequest(description, start, start.plusHours(1), "Park", owner, null, RequestStatus.PENDING);
+        return dogsitService.createRequest(request);
+    }
+
+    private static String basic(String username){
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Statistics statistics(){
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
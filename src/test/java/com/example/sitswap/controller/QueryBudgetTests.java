@@ -0,0 +1,164 @@
+package com.example.sitswap.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.sitswap.config.QueryBudgetExceededException;
+import com.example.sitswap.config.QueryBudgetFilter;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.service.DogsitRequestService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Walks the read endpoints with sitswap.sql.enforce-budgets on (see application-test.properties), so any request
+ * that runs more statements than its sitswap.sql.budgets entry fails here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Pet pet;
+
+    @BeforeEach
+    void seed(){
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", passwordEncoder.encode("secret"), 100));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", passwordEncoder.encode("secret"), 100));
+        pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for(int i = 0; i < 5; i++){
+            DogsitRequest request = dogsitService.createRequest(new DogsitRequest("Walk " + i, start.plusHours(i * 2),
+                start.plusHours(i * 2 + 1), "Park", owner, null, RequestStatus.PENDING));
+            if(i % 2 == 0){
+                dogsitService.acceptRequest(request.getId(), sitter.getId());
+            }
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp(){
+        dogsitRepo.deleteAll();
+        transactionRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void publicReadEndpointsStayWithinTheirQueryBudgets() throws Exception {
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withNano(0);
+        String[] paths = {
+            "/dogsits",
+            "/dogsits/status/PENDING",
+            "/dogsits/status/ACCEPTED",
+            "/dogsits/status/COMPLETED",
+            "/dogsits/search?status=ACCEPTED",
+            "/dogsits/search?ownerId=" + owner.getId() + "&sort=-startTime",
+            "/dogsits/nearby?lat=52.37&lon=4.89",
+            "/dogsits/available?from=" + tomorrow + "&to=" + tomorrow.plusDays(1),
+            "/users"
+        };
+        for(String path : paths){
+            mockMvc.perform(get(path))
+                .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void authenticatedReadEndpointsStayWithinTheirQueryBudgetsOnAColdCache() throws Exception {
+        String[] paths = {
+            "/users/" + owner.getId(),
+            "/users/" + owner.getId() + "/pets",
+            "/users/" + owner.getId() + "/history",
+            "/users/" + owner.getId() + "/stats",
+            "/pets/" + pet.getId()
+        };
+        for(String path : paths){
+            entityManagerFactory.getCache().evictAll();
+            mockMvc.perform(authenticated(get(path)))
+                .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void exceedingABudgetFailsOnlyWhenEnforced() throws Exception {
+        MockEnvironment environment = new MockEnvironment().withProperty("sitswap.sql.budgets[/probe/**]", "1");
+        FilterChain twoQueries = (request, response) -> {
+            userRepo.count();
+            petRepo.count();
+        };
+
+        QueryBudgetFilter enforcing = new QueryBudgetFilter(environment, true, new SimpleMeterRegistry());
+        assertThatThrownBy(() -> enforcing.doFilter(new MockHttpServletRequest("GET", "/probe/users"),
+                new MockHttpServletResponse(), twoQueries))
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageContaining("ran 2 SQL statements");
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryBudgetFilter logging = new QueryBudgetFilter(environment, false, registry);
+        logging.doFilter(new MockHttpServletRequest("GET", "/probe/users"), new MockHttpServletResponse(), twoQueries);
+        assertThat(registry.get("sitswap.http.sql.statements").summary().totalAmount()).isEqualTo(2);
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request){
+        String credentials = Base64.getEncoder().encodeToString("owner:secret".getBytes(StandardCharsets.UTF_8));
+        return request.header(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+    }
+}
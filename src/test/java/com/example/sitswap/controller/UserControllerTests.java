@@ -0,0 +1,75 @@
+package com.example.sitswap.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void cleanUp(){
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void statsAreOnlyVisibleToTheirOwner() throws Exception {
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", passwordEncoder.encode("secret"), 100));
+        userRepo.save(new User("Other", "other@example.com", "other", passwordEncoder.encode("secret"), 100));
+
+        mockMvc.perform(get("/users/" + owner.getId() + "/stats").header(HttpHeaders.AUTHORIZATION, basic("owner")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.userId").value(owner.getId()));
+        mockMvc.perform(get("/users/" + owner.getId() + "/stats").header(HttpHeaders.AUTHORIZATION, basic("other")))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.error").exists());
+        mockMvc.perform(get("/users/" + owner.getId() + "/stats"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void historyIsOnlyVisibleToItsOwner() throws Exception {
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", passwordEncoder.encode("secret"), 100));
+        userRepo.save(new User("Other", "other@example.com", "other", passwordEncoder.encode("secret"), 100));
+
+        mockMvc.perform(get("/users/" + owner.getId() + "/history").header(HttpHeaders.AUTHORIZATION, basic("owner")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty());
+        mockMvc.perform(get("/users/" + owner.getId() + "/history").header(HttpHeaders.AUTHORIZATION, basic("other")))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.error").exists());
+        mockMvc.perform(get("/users/" + owner.getId() + "/history"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private static String basic(String username){
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+    }
+}
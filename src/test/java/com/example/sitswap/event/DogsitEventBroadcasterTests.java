@@ -0,0 +1,78 @@
+package com.example.sitswap.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.sitswap.event.DogsitEventBroadcaster.SubscriptionFilter;
+
+class DogsitEventBroadcasterTests {
+
+    @Test
+    void slowSubscriberIsDisconnectedWhenItsBufferOverflows() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        DogsitEventBroadcaster broadcaster = new DogsitEventBroadcaster(executor, 2, 10, 60_000);
+        SseEmitter slow = broadcaster.subscribe(new SubscriptionFilter(null, null, null));
+        SseEmitter unrelated = broadcaster.subscribe(new SubscriptionFilter(99L, null, null));
+
+        for(long requestId = 1; requestId <= 3; requestId++){
+            broadcaster.publish(DogsitRequestEvent.accepted(requestId, 1L, 2L));
+        }
+        // One drain per subscriber at a time, however many events are queued behind it.
+        assertThat(executor.tasks).hasSize(1);
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+
+        executor.runAll();
+
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        assertThatThrownBy(() -> slow.send("late")).isInstanceOf(IllegalStateException.class);
+        unrelated.send("still open");
+
+        broadcaster.publish(DogsitRequestEvent.accepted(4L, 1L, 2L));
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    void subscriberWithinItsBufferStaysConnected() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        DogsitEventBroadcaster broadcaster = new DogsitEventBroadcaster(executor, 2, 10, 60_000);
+        SseEmitter emitter = broadcaster.subscribe(new SubscriptionFilter(null, null, null));
+
+        broadcaster.publish(DogsitRequestEvent.accepted(1L, 1L, 2L));
+        broadcaster.publish(DogsitRequestEvent.accepted(2L, 1L, 2L));
+        executor.runAll();
+
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        emitter.send("still open");
+    }
+
+    @Test
+    void subscriptionsBeyondTheLimitAreRefused(){
+        DogsitEventBroadcaster broadcaster = new DogsitEventBroadcaster(new ManualExecutor(), 2, 1, 60_000);
+
+        assertThat(broadcaster.subscribe(new SubscriptionFilter(null, null, null))).isNotNull();
+        assertThat(broadcaster.subscribe(new SubscriptionFilter(null, null, null))).isNull();
+    }
+
+    // Holds dispatch tasks until the test runs them, which is what a subscriber that stopped reading looks like.
+    private static final class ManualExecutor implements TaskExecutor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task){
+            tasks.add(task);
+        }
+
+        void runAll(){
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            pending.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.sitswap.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTests {
+
+    @Test
+    void queriesMatchBruteForceUnderInsertsAndRemovals(){
+        Random random = new Random(11);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, long[]> intervals = new HashMap<>();
+
+        for(long id = 1; id <= 5000; id++){
+            long start = random.nextInt(100000);
+            long end = start + 1 + random.nextInt(500);
+            tree.insert(start, end, id);
+            intervals.put(id, new long[]{start, end});
+        }
+        for(long id = 1; id <= 5000; id += 3){
+            tree.remove(intervals.remove(id)[0], id);
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for(int i = 0; i < 500; i++){
+            long from = random.nextInt(100000);
+            long to = from + 1 + random.nextInt(2000);
+
+            List<Long> expectedOverlapping = new ArrayList<>();
+            List<Long> expectedContained = new ArrayList<>();
+            intervals.entrySet().stream()
+                .sorted((a, b) -> a.getValue()[0] != b.getValue()[0]
+                    ? Long.compare(a.getValue()[0], b.getValue()[0])
+                    : Long.compare(a.getKey(), b.getKey()))
+                .forEach(entry -> {
+                    long start = entry.getValue()[0];
+                    long end = entry.getValue()[1];
+                    if(start < to && end > from){
+                        expectedOverlapping.add(entry.getKey());
+                    }
+                    if(start >= from && end <= to){
+                        expectedContained.add(entry.getKey());
+                    }
+                });
+
+            List<Long> overlapping = new ArrayList<>();
+            tree.collectOverlapping(from, to, overlapping);
+            List<Long> contained = new ArrayList<>();
+            tree.collectContained(from, to, Integer.MAX_VALUE, contained, id -> true);
+
+            assertThat(tree.overlaps(from, to)).isEqualTo(!expectedOverlapping.isEmpty());
+            assertThat(overlapping).isEqualTo(expectedOverlapping);
+            assertThat(contained).isEqualTo(expectedContained);
+        }
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap(){
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+
+        assertThat(tree.overlaps(20, 30)).isFalse();
+        assertThat(tree.overlaps(0, 10)).isFalse();
+        assertThat(tree.overlaps(19, 21)).isTrue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.sitswap.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.sitswap.event.DogsitRequestEvent;
+
+class PendingRequestGeoIndexTests {
+
+    private static final int POINT_COUNT = 20000;
+
+    private PendingRequestGeoIndex index;
+    private Map<Long, double[]> locations;
+
+    @BeforeEach
+    void seed(){
+        index = new PendingRequestGeoIndex(null, 0.01);
+        locations = new HashMap<>();
+
+        Random random = new Random(42);
+        for(long id = 1; id <= POINT_COUNT; id++){
+            double latitude = 43.5 + random.nextDouble() * 0.5;
+            double longitude = -79.8 + random.nextDouble() * 0.7;
+            index.put(id, latitude, longitude);
+            locations.put(id, new double[]{latitude, longitude});
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce(){
+        Random random = new Random(7);
+        for(int i = 0; i < 50; i++){
+            double latitude = 43.5 + random.nextDouble() * 0.5;
+            double longitude = -79.8 + random.nextDouble() * 0.7;
+            double radius = 0.5 + random.nextDouble() * 5;
+
+            List<Long> expected = locations.entrySet().stream()
+                .map(entry -> new PendingRequestGeoIndex.Match(entry.getKey(),
+                    PendingRequestGeoIndex.distanceKm(latitude, longitude, entry.getValue()[0], entry.getValue()[1])))
+                .filter(match -> match.distanceKm() <= radius)
+                .sorted(Comparator.comparingDouble(PendingRequestGeoIndex.Match::distanceKm)
+                    .thenComparing(PendingRequestGeoIndex.Match::id))
+                .limit(20)
+                .map(PendingRequestGeoIndex.Match::id)
+                .toList();
+
+            List<Long> actual = index.nearest(latitude, longitude, radius, 20).stream()
+                .map(PendingRequestGeoIndex.Match::id)
+                .toList();
+
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void acceptedAndCompletedRequestsLeaveTheIndex(){
+        index.onRequestEvent(DogsitRequestEvent.accepted(1L, 2L, 3L));
+        index.onRequestEvent(DogsitRequestEvent.completed(2L, 2L, 3L));
+
+        assertThat(index.size()).isEqualTo(POINT_COUNT - 2);
+        double[] first = locations.get(1L);
+        assertThat(index.nearest(first[0], first[1], 0.001, 5))
+            .extracting(PendingRequestGeoIndex.Match::id)
+            .doesNotContain(1L);
+    }
+
+    @Test
+    void movingARequestUpdatesItsCell(){
+        index.put(1L, 10.0, 10.0);
+
+        assertThat(index.nearest(10.0, 10.0, 1, 1))
+            .extracting(PendingRequestGeoIndex.Match::id)
+            .containsExactly(1L);
+        assertThat(index.size()).isEqualTo(POINT_COUNT);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.sitswap.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.DogsitRequestSearch;
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DogsitRequestRepositoryTests {
+
+    private static final int REQUEST_COUNT = 1000;
+
+    @Autowired
+    private DogsitRequestRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User firstOwner;
+
+    @BeforeEach
+    void seed(){
+        List<User> users = new ArrayList<>();
+        List<Pet> pets = new ArrayList<>();
+        for(int i = 0; i < 50; i++){
+            User user = entityManager.persist(new User("User " + i, "user" + i + "@example.com", "user" + i, "hash", 100));
+            users.add(user);
+            pets.add(entityManager.persist(new Pet("Pet " + i, "Beagle", 3, "medium", null, null, "medium", null, user)));
+        }
+        firstOwner = users.get(0);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for(int i = 0; i < REQUEST_COUNT; i++){
+            User owner = users.get(i % users.size());
+            User sitter = i % 2 == 0 ? users.get((i + 1) % users.size()) : null;
+            DogsitRequest request = new DogsitRequest("Walk " + i, start.plusHours(i), start.plusHours(i + 2), "Park",
+                owner, sitter, sitter == null ? RequestStatus.PENDING : RequestStatus.ACCEPTED);
+            request.setPet(pets.get(i % pets.size()));
+            entityManager.persist(request);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void findAllLoadsAssociationsInOneStatement(){
+        List<DogsitRequest> requests = repository.findAll();
+        touchAssociations(requests);
+
+        assertThat(requests).hasSize(REQUEST_COUNT);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByStatusLoadsAssociationsInOneStatement(){
+        List<DogsitRequest> requests = repository.findByStatus(RequestStatus.ACCEPTED);
+        touchAssociations(requests);
+
+        assertThat(requests).hasSize(REQUEST_COUNT / 2);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByOwnerLoadsAssociationsInOneStatement(){
+        List<DogsitRequest> requests = repository.findByOwner(firstOwner);
+        touchAssociations(requests);
+
+        assertThat(requests).hasSize(REQUEST_COUNT / 50);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void summariesAreASingleStatement(){
+        assertThat(repository.findSummariesByStatus(RequestStatus.PENDING)).hasSize(REQUEST_COUNT / 2);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void searchPagesThroughRequestsWithoutAStartTime(){
+        List<Long> undated = new ArrayList<>();
+        for(int i = 0; i < 3; i++){
+            undated.add(entityManager.persist(new DogsitRequest("Anytime " + i, null, null, "Park", firstOwner, null,
+                RequestStatus.PENDING)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> undatedDescending = new ArrayList<>(undated);
+        Collections.reverse(undatedDescending);
+
+        for(boolean descending : new boolean[] {false, true}){
+            List<DogsitRequestSummary> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                DogsitRequestPage<DogsitRequestSummary> page = repository.search(new DogsitRequestSearch(
+                    firstOwner.getId(), null, null, null, null, null, null, null, descending, cursor, 7));
+                seen.addAll(page.items());
+                cursor = page.nextCursor();
+            } while(cursor != null);
+
+            assertThat(seen).hasSize(REQUEST_COUNT / 50 + undated.size());
+            assertThat(seen).extracting(DogsitRequestSummary::id).doesNotHaveDuplicates();
+            assertThat(seen.subList(seen.size() - undated.size(), seen.size()))
+                .extracting(DogsitRequestSummary::id)
+                .containsExactlyElementsOf(descending ? undatedDescending : undated);
+        }
+    }
+
+    private void touchAssociations(List<DogsitRequest> requests){
+        for(DogsitRequest request : requests){
+            request.getOwner().getName();
+            request.getPet().getName();
+            if(request.getAcceptedBy() != null){
+                request.getAcceptedBy().getName();
+            }
+        }
+    }
+
+    private Statistics statistics(){
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.sitswap.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs EXPLAIN on the SQL behind each finder against the Flyway-built schema and checks that the plan uses the index
+ * the migration created for it. H2 also indexes every foreign key on its own and prefers that index when it has the
+ * same columns, so those rows name the index H2 plans with as well as the one the migration adds for PostgreSQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class SchemaIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "select id from dogsit_request where status = 'PENDING' order by start_time, id | idx_dogsit_status_start |",
+        "select id from dogsit_request where owner_id = 1 and status = 'PENDING' order by start_time, id | idx_dogsit_owner_status_start |",
+        "select id from dogsit_request where accepted_by_id = 1 and status = 'ACCEPTED' order by start_time, id | idx_dogsit_accepted_by_status_start |",
+        "select id from dogsit_request where pet_id = 1                                  | idx_dogsit_pet |",
+        "select id from dogsit_request where status = 'COMPLETED' and completed_at < current_timestamp | idx_dogsit_completed |",
+        "select id from dogsit_request_history where owner_id = 1 order by completed_at desc | idx_history_owner_completed |",
+        "select id from dogsit_request_history where accepted_by_id = 1 order by completed_at desc | idx_history_sitter_completed |",
+        "select id from pets where user_id = 1                                           | idx_pets_user | fk_pets_user",
+        "select id from users where email = 'owner@example.com'                          | uk_users_email |",
+        "select id from users where username = 'owner'                                   | uk_users_username |"
+    })
+    void findersUseTheirIndexes(String sql, String index, String h2Index){
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        Integer created = jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.indexes where lower(index_name) like ?", Integer.class, index + "%");
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).containsIgnoringCase("/* PUBLIC." + (h2Index == null ? index : h2Index));
+        assertThat(created).isPositive();
+    }
+}
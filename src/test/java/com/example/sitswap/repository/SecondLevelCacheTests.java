@@ -0,0 +1,127 @@
+package com.example.sitswap.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.service.PetService;
+import com.example.sitswap.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Pet pet;
+
+    @BeforeEach
+    void seed(){
+        owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        statistics().clear();
+    }
+
+    @AfterEach
+    void cleanUp(){
+        transactionRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void entityLookupsAreServedFromTheCache(){
+        userService.getUserById(owner.getId());
+        petService.getPetById(pet.getId());
+        userService.getUserById(owner.getId());
+        petService.getPetById(pet.getId());
+
+        assertThat(statistics().getPrepareStatementCount()).isZero();
+        assertThat(statistics().getSecondLevelCacheHitCount()).isEqualTo(4);
+        // Per-region counts are published to Micrometer, and so to /actuator/prometheus on the management port.
+        assertThat(regionHits("users")).isEqualTo(2);
+        assertThat(regionHits("pets")).isEqualTo(2);
+    }
+
+    @Test
+    void hotFindersUseTheQueryCache(){
+        assertThat(petService.getPetsByUserId(owner.getId())).hasSize(1);
+        assertThat(userRepo.findByUsername("owner")).isPresent();
+        statistics().clear();
+
+        assertThat(petService.getPetsByUserId(owner.getId())).hasSize(1);
+        assertThat(userRepo.findByUsername("owner")).isPresent();
+
+        assertThat(statistics().getPrepareStatementCount()).isZero();
+        assertThat(statistics().getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void petWritesInvalidateCachedReads(){
+        assertThat(petService.getPetsByUserId(owner.getId())).hasSize(1);
+
+        Pet changes = new Pet("Max", "Beagle", 4, "medium", null, null, "low", null, null);
+        petService.updatePet(pet.getId(), changes);
+        assertThat(petService.getPetById(pet.getId())).get().extracting(Pet::getName).isEqualTo("Max");
+
+        petService.createPet(owner.getId(), new Pet("Bella", "Poodle", 2, "small", null, null, "medium", null, null));
+        assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getName).containsExactlyInAnyOrder("Max", "Bella");
+
+        petService.deletePet(pet.getId());
+        assertThat(petService.getPetById(pet.getId())).isEmpty();
+        assertThat(petService.getPetsByUserId(owner.getId())).extracting(Pet::getName).containsExactly("Bella");
+    }
+
+    @Test
+    void pointChangesInvalidateCachedUsers(){
+        assertThat(userService.getUserById(owner.getId())).get().extracting(User::getPoints).isEqualTo(100);
+        assertThat(userRepo.findByUsername("owner")).get().extracting(User::getPoints).isEqualTo(100);
+
+        userService.updatePoints(owner.getId(), 25);
+
+        assertThat(userService.getUserById(owner.getId())).get().extracting(User::getPoints).isEqualTo(125);
+        assertThat(userRepo.findByUsername("owner")).get().extracting(User::getPoints).isEqualTo(125);
+    }
+
+    private double regionHits(String region){
+        return meterRegistry.get("hibernate.second.level.cache.requests").tags("region", region, "result", "hit")
+            .functionCounter().count();
+    }
+
+    private Statistics statistics(){
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
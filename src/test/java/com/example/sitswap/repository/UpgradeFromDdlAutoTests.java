@@ -0,0 +1,86 @@
+package com.example.sitswap.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.sitswap.dto.UserStatsSummary;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.service.UserStatsService;
+
+/**
+ * Starts the application on a database that still has the schema ddl-auto=update created before Flyway, so it is
+ * baselined at version 1 and upgraded by V1.1 onwards, and Hibernate then validates the result. The PostgreSQL
+ * scripts are the ones production runs; this exercises their H2 counterparts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UpgradeFromDdlAutoTests {
+
+    private static final String URL = "jdbc:h2:mem:sitswap-upgrade;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void preFlywayDatabase(DynamicPropertyRegistry registry){
+        new ResourceDatabasePopulator(new ClassPathResource("db/pre-flyway-schema.sql"))
+            .execute(new DriverManagerDataSource(URL, "sa", ""));
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private UserStatsService statsService;
+
+    @Test
+    void existingDatabaseIsBaselinedAndUpgraded(){
+        List<String> versions = jdbcTemplate.queryForList(
+            "select version from flyway_schema_history where success and version is not null order by installed_rank",
+            String.class);
+        assertThat(versions).containsExactly("1", "1.1", "2", "3", "4");
+        assertThat(jdbcTemplate.queryForObject("select type from flyway_schema_history where version = '1'", String.class))
+            .isEqualTo("BASELINE");
+
+        assertThat(userRepo.findByUsername("owner")).get().extracting(User::getPoints).isEqualTo(90);
+        assertThat(dogsitRepo.findById(4L)).get().extracting(DogsitRequest::getStatus).isEqualTo(RequestStatus.PENDING);
+        assertThat(statsService.getStats(1L)).isEqualTo(new UserStatsSummary(1L, 1, 0, 1, 0, 0, 0, 0));
+        assertThat(statsService.getStats(2L)).isEqualTo(new UserStatsSummary(2L, 0, 0, 0, 0, 1, 0, 0));
+    }
+
+    @Test
+    void newRowsAreNumberedAfterTheExistingOnes(){
+        User user = userRepo.save(new User("New", "new@example.com", "new", "hash", 100));
+        Pet pet = petRepo.save(new Pet("Bo", "Poodle", 2, "small", null, null, "low", null, user));
+        LocalDateTime start = LocalDateTime.of(2030, 2, 1, 9, 0);
+        DogsitRequest request = dogsitRepo.save(new DogsitRequest("Walk", start, start.plusHours(1), "Park", user, null,
+            RequestStatus.PENDING));
+
+        assertThat(user.getId()).isGreaterThan(7L);
+        assertThat(pet.getId()).isGreaterThan(3L);
+        assertThat(request.getId()).isGreaterThan(5L);
+    }
+}
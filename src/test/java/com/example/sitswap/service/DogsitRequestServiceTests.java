@@ -0,0 +1,296 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.dto.BatchResult;
+import com.example.sitswap.index.RequestScheduleIndex;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DogsitRequestServiceTests {
+
+    @Autowired
+    private DogsitRequestService service;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private RequestScheduleIndex scheduleIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp(){
+        transactionRepo.deleteAll();
+        dogsitRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void concurrentCompletionsNeverOverdrawTheOwner() throws Exception {
+        int completions = 200;
+        int pointsPerSit = 20;
+        int startingPoints = 1000;
+
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", startingPoints));
+        List<User> sitters = new ArrayList<>();
+        for(int i = 0; i < 10; i++){
+            sitters.add(userRepo.save(new User("Sitter " + i, "sitter" + i + "@example.com", "sitter" + i, "hash", 0)));
+        }
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Long> requestIds = new ArrayList<>();
+        for(int i = 0; i < completions; i++){
+            DogsitRequest request = new DogsitRequest("Walk " + i, start, start.plusHours(2), "Park",
+                owner, sitters.get(i % sitters.size()), RequestStatus.ACCEPTED);
+            requestIds.add(dogsitRepo.save(request).getId());
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for(Long requestId : requestIds){
+            tasks.add(() -> {
+                try {
+                    service.completeRequest(requestId);
+                    return true;
+                } catch (InsufficientPointsException e) {
+                    return false;
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        int succeeded = 0;
+        try {
+            for(Future<Boolean> result : pool.invokeAll(tasks)){
+                if(result.get()){
+                    succeeded++;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int sitterTotal = sitters.stream()
+            .mapToInt(sitter -> userRepo.findById(sitter.getId()).orElseThrow().getPoints())
+            .sum();
+        int ownerPoints = userRepo.findById(owner.getId()).orElseThrow().getPoints();
+
+        assertThat(succeeded).isEqualTo(startingPoints / pointsPerSit);
+        assertThat(ownerPoints).isZero();
+        assertThat(sitterTotal).isEqualTo(startingPoints);
+        assertThat(transactionRepo.count()).isEqualTo(succeeded);
+        assertThat(dogsitRepo.findByStatus(RequestStatus.COMPLETED)).hasSize(succeeded);
+    }
+
+    @Test
+    void exactlyOneOfManyConcurrentAcceptsWins() throws Exception {
+        int attempts = 2000;
+
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        List<User> sitters = new ArrayList<>();
+        for(int i = 0; i < 20; i++){
+            sitters.add(userRepo.save(new User("Sitter " + i, "sitter" + i + "@example.com", "sitter" + i, "hash", 0)));
+        }
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long requestId = dogsitRepo.save(new DogsitRequest("Popular walk", start, start.plusHours(2), "Park",
+            owner, null, RequestStatus.PENDING)).getId();
+
+        long[] latencies = new long[attempts];
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for(int i = 0; i < attempts; i++){
+            int attempt = i;
+            Long sitterId = sitters.get(i % sitters.size()).getId();
+            tasks.add(() -> {
+                long started = System.nanoTime();
+                try {
+                    service.acceptRequest(requestId, sitterId);
+                    return true;
+                } catch (RequestAlreadyTakenException e) {
+                    return false;
+                } finally {
+                    latencies[attempt] = System.nanoTime() - started;
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        int winners = 0;
+        try {
+            for(Future<Boolean> result : pool.invokeAll(tasks)){
+                if(result.get()){
+                    winners++;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Arrays.sort(latencies);
+        Duration p99 = Duration.ofNanos(latencies[(int) Math.ceil(attempts * 0.99) - 1]);
+
+        DogsitRequest accepted = dogsitRepo.findById(requestId).orElseThrow();
+        assertThat(winners).isEqualTo(1);
+        assertThat(accepted.getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+        assertThat(accepted.getAcceptedBy()).isNotNull();
+        assertThat(p99).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void sitterCannotAcceptOverlappingSits(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long morning = service.createRequest(new DogsitRequest("Morning walk", start, start.plusHours(3), "Park",
+            owner, null, null)).getId();
+        Long overlapping = service.createRequest(new DogsitRequest("Late morning walk", start.plusHours(2), start.plusHours(4), "Park",
+            owner, null, null)).getId();
+        Long afternoon = service.createRequest(new DogsitRequest("Afternoon walk", start.plusHours(3), start.plusHours(5), "Park",
+            owner, null, null)).getId();
+
+        assertThat(service.findAvailableRequests(start, start.plusHours(5), sitter.getId(), 10))
+            .extracting(summary -> summary.id())
+            .containsExactly(morning, overlapping, afternoon);
+
+        service.acceptRequest(morning, sitter.getId());
+
+        assertThatThrownBy(() -> service.acceptRequest(overlapping, sitter.getId()))
+            .isInstanceOf(ScheduleConflictException.class);
+        assertThat(dogsitRepo.findById(overlapping).orElseThrow().getStatus()).isEqualTo(RequestStatus.PENDING);
+        assertThat(service.findAvailableRequests(start, start.plusHours(5), sitter.getId(), 10))
+            .extracting(summary -> summary.id())
+            .containsExactly(afternoon);
+
+        service.acceptRequest(afternoon, sitter.getId());
+        assertThat(dogsitRepo.findById(afternoon).orElseThrow().getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+    }
+
+    @Test
+    void slotHeldByAnotherSitterStillChecksTheCallersOverlaps(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        User other = userRepo.save(new User("Other", "other@example.com", "other", "hash", 0));
+        User third = userRepo.save(new User("Third", "third@example.com", "third", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long morning = service.createRequest(new DogsitRequest("Morning walk", start, start.plusHours(3), "Park",
+            owner, null, null)).getId();
+        Long overlapping = service.createRequest(new DogsitRequest("Late morning walk", start.plusHours(2), start.plusHours(4), "Park",
+            owner, null, null)).getId();
+        service.acceptRequest(morning, sitter.getId());
+
+        // Another sitter's accept is in flight; it then rolls back and releases the slot.
+        assertThat(scheduleIndex.reserve(overlapping, other.getId())).isEqualTo(RequestScheduleIndex.Reservation.RESERVED);
+        assertThatThrownBy(() -> service.acceptRequest(overlapping, sitter.getId()))
+            .isInstanceOf(ScheduleConflictException.class);
+        assertThatThrownBy(() -> service.acceptRequest(overlapping, third.getId()))
+            .isInstanceOf(RequestAlreadyTakenException.class);
+        scheduleIndex.release(overlapping, other.getId());
+
+        assertThatThrownBy(() -> service.acceptRequest(overlapping, sitter.getId()))
+            .isInstanceOf(ScheduleConflictException.class);
+        assertThat(dogsitRepo.findById(overlapping).orElseThrow().getStatus()).isEqualTo(RequestStatus.PENDING);
+        service.acceptRequest(overlapping, third.getId());
+        assertThat(dogsitRepo.findById(overlapping).orElseThrow().getAcceptedBy().getId()).isEqualTo(third.getId());
+    }
+
+    @Test
+    void batchCreateAcceptAndCompleteUseBatchedStatements(){
+        int batchSize = 200;
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 10000));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<DogsitRequest> requests = new ArrayList<>();
+        for(int i = 0; i < batchSize; i++){
+            requests.add(new DogsitRequest("Walk " + i, start.plusDays(i), start.plusDays(i).plusHours(2), "Park",
+                null, null, null));
+        }
+
+        statistics().clear();
+        List<Long> requestIds = service.createRequests(owner, requests).stream().map(DogsitRequest::getId).toList();
+        assertThat(requestIds).hasSize(batchSize).doesNotContainNull();
+        assertThat(statistics().getPrepareStatementCount()).isLessThan(20);
+
+        Long taken = requestIds.get(0);
+        service.acceptRequest(taken, userRepo.save(new User("Other", "other@example.com", "other", "hash", 0)).getId());
+
+        BatchResult accepted = service.acceptRequests(requestIds, sitter.getId());
+        assertThat(accepted.succeeded()).hasSize(batchSize - 1).doesNotContain(taken);
+        assertThat(accepted.failed()).containsOnlyKeys(taken);
+
+        BatchResult completed = service.completeRequests(accepted.succeeded(), owner.getId());
+        assertThat(completed.succeeded()).hasSize(batchSize - 1);
+        assertThat(userRepo.findById(sitter.getId()).orElseThrow().getPoints()).isEqualTo((batchSize - 1) * 20);
+        assertThat(userRepo.findById(owner.getId()).orElseThrow().getPoints()).isEqualTo(10000 - (batchSize - 1) * 20);
+        assertThat(transactionRepo.count()).isEqualTo(batchSize - 1);
+    }
+
+    @Test
+    void batchCompleteIsAllOrNothing(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 30));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Long> requestIds = new ArrayList<>();
+        for(int i = 0; i < 2; i++){
+            requestIds.add(dogsitRepo.save(new DogsitRequest("Walk " + i, start.plusDays(i), start.plusDays(i).plusHours(2), "Park",
+                owner, sitter, RequestStatus.ACCEPTED)).getId());
+        }
+
+        assertThatThrownBy(() -> service.completeRequests(requestIds, owner.getId()))
+            .isInstanceOf(InsufficientPointsException.class);
+        assertThat(dogsitRepo.findByStatus(RequestStatus.ACCEPTED)).hasSize(2);
+        assertThat(userRepo.findById(owner.getId()).orElseThrow().getPoints()).isEqualTo(30);
+        assertThat(transactionRepo.count()).isZero();
+    }
+
+    @Test
+    void ownerCannotAcceptTheirOwnRequest(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long requestId = dogsitRepo.save(new DogsitRequest("Walk", start, start.plusHours(2), "Park",
+            owner, null, RequestStatus.PENDING)).getId();
+
+        assertThatThrownBy(() -> service.acceptRequest(requestId, owner.getId()))
+            .hasMessage("Users cannot accept their own request");
+        assertThat(dogsitRepo.findById(requestId).orElseThrow().getStatus()).isEqualTo(RequestStatus.PENDING);
+    }
+
+    private Statistics statistics(){
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
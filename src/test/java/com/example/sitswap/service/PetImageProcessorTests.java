@@ -0,0 +1,139 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.storage.ImageStore;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PetImageProcessorTests {
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private PetService petService;
+
+    // Built directly so process() runs on the test thread instead of the async executor.
+    private PetImageProcessor processor;
+    private Pet pet;
+
+    @BeforeEach
+    void seed(){
+        processor = new PetImageProcessor(petRepo, imageStore);
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+    }
+
+    @AfterEach
+    void cleanUp(){
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void uploadsAreResizedIntoThreeVariants() throws IOException {
+        Path upload = png(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB));
+
+        processor.process(pet.getId(), upload);
+
+        Pet processed = petRepo.findById(pet.getId()).orElseThrow();
+        assertThat(dimensions(processed.getThumbnailUrl())).containsExactly(160, 80);
+        assertThat(dimensions(processed.getCardImageUrl())).containsExactly(480, 240);
+        assertThat(dimensions(processed.getImageUrl())).containsExactly(1280, 640);
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    void concurrentPetEditsAreKeptAndTheUrlsStillSaved() throws IOException {
+        // The owner edits the pet between the processor loading it and saving the variant URLs.
+        AtomicBoolean edited = new AtomicBoolean();
+        PetRepository racingRepo = (PetRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { PetRepository.class }, (proxy, method, args) -> {
+                if(method.getName().equals("save") && edited.compareAndSet(false, true)){
+                    petService.updatePet(pet.getId(), new Pet("Rex", "Beagle", 4, "medium", null, null, "high", null, null));
+                }
+                try {
+                    return method.invoke(petRepo, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        Path upload = png(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB));
+
+        new PetImageProcessor(racingRepo, imageStore).process(pet.getId(), upload);
+
+        Pet processed = petRepo.findById(pet.getId()).orElseThrow();
+        assertThat(edited).isTrue();
+        assertThat(processed.getAge()).isEqualTo(4);
+        assertThat(processed.getImageUrl()).isNotNull();
+        assertThat(dimensions(processed.getImageUrl())).containsExactly(300, 200);
+    }
+
+    @Test
+    void imagesOverThePixelBudgetAreRejectedBeforeDecoding() throws IOException {
+        // 48 megapixels, but a one-bit canvas of a single colour compresses to a few kilobytes.
+        Path upload = png(new BufferedImage(8000, 6000, BufferedImage.TYPE_BYTE_BINARY));
+        assertThat(Files.size(upload)).isLessThan(100_000);
+
+        processor.process(pet.getId(), upload);
+
+        Pet unchanged = petRepo.findById(pet.getId()).orElseThrow();
+        assertThat(unchanged.getImageUrl()).isNull();
+        assertThat(unchanged.getThumbnailUrl()).isNull();
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    void undecodableUploadsAreDiscarded() throws IOException {
+        Path upload = Files.createTempFile("pet-upload-", ".png");
+        Files.writeString(upload, "not an image");
+
+        processor.process(pet.getId(), upload);
+
+        assertThat(petRepo.findById(pet.getId()).orElseThrow().getImageUrl()).isNull();
+        assertThat(upload).doesNotExist();
+    }
+
+    private static Path png(BufferedImage image) throws IOException {
+        Path upload = Files.createTempFile("pet-upload-", ".png");
+        ImageIO.write(image, "png", upload.toFile());
+        return upload;
+    }
+
+    private int[] dimensions(String url) throws IOException {
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        try (InputStream input = imageStore.get(key).orElseThrow().getInputStream()) {
+            BufferedImage variant = ImageIO.read(input);
+            return new int[] { variant.getWidth(), variant.getHeight() };
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PetServiceTests {
+
+    private static final int MAX_IMAGE_BYTES = 5 * 1024 * 1024;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private Pet pet;
+
+    @BeforeEach
+    void seed(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+    }
+
+    @AfterEach
+    void cleanUp(){
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void oversizeStreamWithoutContentLengthIsCutOffAtTheLimit() throws IOException {
+        CountingPngStream body = new CountingPngStream(MAX_IMAGE_BYTES * 2L);
+
+        assertThatThrownBy(() -> petService.streamPetImage(pet.getId(), body, -1))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+        // Reading stops within one chunk of the limit instead of draining the body.
+        assertThat(body.read).isLessThanOrEqualTo(MAX_IMAGE_BYTES + 64 * 1024L);
+        assertThat(petRepo.findById(pet.getId()).orElseThrow().getImageUrl()).isNull();
+    }
+
+    @Test
+    void declaredOversizeIsRejectedBeforeReading() throws IOException {
+        CountingPngStream body = new CountingPngStream(MAX_IMAGE_BYTES + 1L);
+
+        assertThatThrownBy(() -> petService.streamPetImage(pet.getId(), body, MAX_IMAGE_BYTES + 1L))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+        assertThat(body.read).isZero();
+    }
+
+    @Test
+    void uploadsWithoutAnImageSignatureAreRejected() throws IOException {
+        byte[] pdf = "%PDF-1.7\n%not an image".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> petService.streamPetImage(pet.getId(), new ByteArrayInputStream(pdf), pdf.length))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        assertThat(petRepo.findById(pet.getId()).orElseThrow().getImageUrl()).isNull();
+    }
+
+    @Test
+    void validUploadIsProcessedInTheBackground() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        Pet returned = petService.streamPetImage(pet.getId(), new ByteArrayInputStream(png.toByteArray()), -1);
+        assertThat(returned.getId()).isEqualTo(pet.getId());
+
+        Pet processed = awaitImage(pet.getId());
+        assertThat(processed.getImageUrl()).startsWith("/images/store/");
+        assertThat(processed.getThumbnailUrl()).startsWith("/images/store/");
+        assertThat(processed.getCardImageUrl()).startsWith("/images/store/");
+    }
+
+    private Pet awaitImage(Long petId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(System.currentTimeMillis() < deadline){
+            Pet current = petRepo.findById(petId).orElseThrow();
+            if(current.getImageUrl() != null){
+                return current;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Image for pet " + petId + " was not processed in time");
+    }
+
+    // A PNG signature followed by zeros, generated on demand so the test never holds the whole body.
+    private static final class CountingPngStream extends InputStream {
+
+        private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+        private final long length;
+        private long read;
+
+        CountingPngStream(long length){
+            this.length = length;
+        }
+
+        @Override
+        public int read(){
+            if(read >= length){
+                return -1;
+            }
+            int value = read < SIGNATURE.length ? SIGNATURE[(int) read] & 0xFF : 0;
+            read++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count){
+            if(read >= length){
+                return -1;
+            }
+            int n = (int) Math.min(count, length - read);
+            for(int i = 0; i < n; i++){
+                buffer[offset + i] = (byte) read();
+            }
+            return n;
+        }
+    }
+}
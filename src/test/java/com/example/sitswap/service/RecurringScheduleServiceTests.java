@@ -0,0 +1,162 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.dto.DogsitRequestSummary;
+import com.example.sitswap.dto.RecurringScheduleForm;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.Pet;
+import com.example.sitswap.model.RecurringDogsitSchedule;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PetRepository;
+import com.example.sitswap.repository.RecurringDogsitScheduleRepository;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurringScheduleServiceTests {
+
+    private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    @Autowired
+    private RecurringScheduleService scheduleService;
+
+    @Autowired
+    private RecurringScheduleMaterializer materializer;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private RecurringDogsitScheduleRepository scheduleRepo;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private PetRepository petRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @AfterEach
+    void cleanUp(){
+        dogsitRepo.deleteAll();
+        scheduleRepo.deleteAll();
+        petRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void occurrencesAreVirtualUntilMaterializedAndMaterializeOnce(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        LocalDate startsOn = LocalDate.now().plusDays(1);
+        RecurringDogsitSchedule schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(),
+            "Weekday walk", "Park", null, null, WEEKDAYS, LocalTime.of(9, 0), 60, startsOn, null));
+
+        LocalDate horizonEnd = LocalDate.now().plusDays(scheduleService.getHorizonDays());
+        LocalDate projectionEnd = horizonEnd.plusDays(scheduleService.getProjectionDays());
+        int due = 0;
+        int projected = 0;
+        for(LocalDate date = startsOn; !date.isAfter(projectionEnd); date = date.plusDays(1)){
+            if(WEEKDAYS.contains(date.getDayOfWeek())){
+                projected++;
+                if(!date.isAfter(horizonEnd)){
+                    due++;
+                }
+            }
+        }
+
+        List<DogsitRequestSummary> virtual = scheduleService.getVirtualOccurrences();
+        assertThat(virtual).hasSize(projected);
+        assertThat(virtual).allSatisfy(occurrence -> {
+            assertThat(occurrence.id()).isNull();
+            assertThat(occurrence.virtual()).isTrue();
+            assertThat(occurrence.scheduleId()).isEqualTo(schedule.getId());
+            assertThat(occurrence.petName()).isEqualTo("Rex");
+        });
+        assertThat(dogsitService.getRequestsByStatus(RequestStatus.PENDING)).containsExactlyElementsOf(virtual);
+
+        assertThat(materializer.materializeDue()).isEqualTo(due);
+        assertThat(materializer.materializeDue()).isZero();
+
+        List<DogsitRequestSummary> pending = dogsitService.getRequestsByStatus(RequestStatus.PENDING);
+        assertThat(pending).extracting(DogsitRequestSummary::startTime)
+            .containsExactlyElementsOf(virtual.stream().map(DogsitRequestSummary::startTime).toList());
+        assertThat(pending.subList(0, due)).allSatisfy(request -> {
+            assertThat(request.id()).isNotNull();
+            assertThat(request.virtual()).isFalse();
+            assertThat(request.scheduleId()).isEqualTo(schedule.getId());
+        });
+        assertThat(pending.subList(due, projected)).allSatisfy(occurrence -> assertThat(occurrence.virtual()).isTrue());
+        assertThat(scheduleService.getVirtualOccurrences()).hasSize(projected - due);
+    }
+
+    @Test
+    void acceptingAVirtualOccurrenceMaterializesItOnce(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        User other = userRepo.save(new User("Other", "other@example.com", "other", "hash", 0));
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        LocalDate startsOn = LocalDate.now().plusDays(1);
+        RecurringDogsitSchedule schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(),
+            "Daily walk", "Park", null, null, EnumSet.allOf(DayOfWeek.class), LocalTime.of(9, 0), 60, startsOn, null));
+        int projected = scheduleService.getVirtualOccurrences().size();
+        LocalDateTime dueStart = startsOn.atTime(9, 0);
+        LocalDateTime projectedStart = LocalDate.now().plusDays(scheduleService.getHorizonDays() + 3).atTime(9, 0);
+
+        assertThatThrownBy(() -> dogsitService.acceptOccurrence(schedule.getId(), dueStart, owner.getId()))
+            .hasMessageContaining("own request");
+        assertThatThrownBy(() -> dogsitService.acceptOccurrence(schedule.getId(), dueStart.plusHours(1), sitter.getId()))
+            .hasMessageContaining("no upcoming occurrence");
+
+        DogsitRequest due = dogsitService.acceptOccurrence(schedule.getId(), dueStart, sitter.getId());
+        DogsitRequest beyondHorizon = dogsitService.acceptOccurrence(schedule.getId(), projectedStart, sitter.getId());
+        assertThat(List.of(due, beyondHorizon)).allSatisfy(request -> {
+            assertThat(request.getStatus()).isEqualTo(RequestStatus.ACCEPTED);
+            assertThat(request.getScheduleId()).isEqualTo(schedule.getId());
+        });
+        assertThatThrownBy(() -> dogsitService.acceptOccurrence(schedule.getId(), projectedStart, other.getId()))
+            .isInstanceOf(RequestAlreadyTakenException.class);
+
+        assertThat(scheduleService.getVirtualOccurrences()).hasSize(projected - 2)
+            .extracting(DogsitRequestSummary::startTime)
+            .doesNotContain(dueStart, projectedStart);
+
+        // The materializer skips the occurrence that already has its row.
+        assertThat(materializer.materializeDue()).isEqualTo(scheduleService.getHorizonDays() - 1);
+        assertThat(dogsitRepo.count()).isEqualTo(scheduleService.getHorizonDays() + 1);
+    }
+
+    @Test
+    void stoppedSchedulesAreNotExpanded(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 100));
+        Pet pet = petRepo.save(new Pet("Rex", "Beagle", 3, "medium", null, null, "high", null, owner));
+        RecurringDogsitSchedule schedule = scheduleService.createSchedule(owner, new RecurringScheduleForm(pet.getId(),
+            "Daily walk", "Park", null, null, EnumSet.allOf(DayOfWeek.class), LocalTime.of(9, 0), 60,
+            LocalDate.now().plusDays(1), null));
+
+        scheduleService.deactivateSchedule(schedule.getId(), owner.getId());
+
+        assertThat(scheduleService.getVirtualOccurrences()).isEmpty();
+        assertThat(materializer.materializeDue()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.sitswap.dto.DogsitRequestPage;
+import com.example.sitswap.dto.PastSit;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestHistoryRepository;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+
+@SpringBootTest(properties = "sitswap.archive.batch-size=2")
+@ActiveProfiles("test")
+class RequestArchiverTests {
+
+    @Autowired
+    private RequestArchiver archiver;
+
+    @Autowired
+    private SitHistoryService historyService;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private DogsitRequestHistoryRepository historyRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp(){
+        jdbcTemplate.update("delete from dogsit_request_history");
+        transactionRepo.deleteAll();
+        dogsitRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void oldCompletedRequestsMoveToHistoryInBatchesAndStayListed() throws Exception {
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 1000));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Long> ids = new ArrayList<>();
+        for(int i = 0; i < 5; i++){
+            Long id = dogsitService.createRequest(new DogsitRequest("Walk " + i, start.plusDays(i), start.plusDays(i).plusHours(1),
+                "Park", owner, null, RequestStatus.PENDING)).getId();
+            dogsitService.acceptRequest(id, sitter.getId());
+            dogsitService.completeRequest(id);
+            ids.add(id);
+        }
+        Long pending = dogsitService.createRequest(new DogsitRequest("Later", start.plusDays(10), start.plusDays(10).plusHours(1),
+            "Park", owner, null, RequestStatus.PENDING)).getId();
+
+        // The first three finished long ago, each a day apart, so they fall behind the retention window.
+        Instant longAgo = Instant.now().minus(200, ChronoUnit.DAYS);
+        for(int i = 0; i < 3; i++){
+            jdbcTemplate.update("update dogsit_request set completed_at = ? where id = ?",
+                Timestamp.from(longAgo.plus(i, ChronoUnit.DAYS)), ids.get(i));
+        }
+
+        assertThat(archiver.archiveCompleted()).isEqualTo(3);
+
+        assertThat(dogsitRepo.findAllById(ids)).extracting(DogsitRequest::getId).containsExactlyInAnyOrder(ids.get(3), ids.get(4));
+        assertThat(dogsitRepo.findById(pending)).isPresent();
+        assertThat(historyRepo.findAll()).extracting(history -> history.getId())
+            .containsExactlyInAnyOrder(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(archiver.archiveCompleted()).isZero();
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            DogsitRequestPage<PastSit> page = historyService.getPastSits(sitter.getId(), cursor, 2);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            page.items().forEach(sit -> listed.add(sit.id()));
+            cursor = page.nextCursor();
+        } while(cursor != null);
+
+        // Recently completed (still live) first, then the archived ones newest to oldest.
+        assertThat(listed).containsExactly(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0));
+        assertThat(historyService.getPastSits(owner.getId(), null, 10).items())
+            .first().satisfies(sit -> assertThat(sit.acceptedBy().name()).isEqualTo("Sitter"));
+        assertThat(historyService.getPastSits(owner.getId(), null, 10).items()).hasSize(5);
+    }
+
+    @Test
+    void malformedCursorIsRejected(){
+        assertThatThrownBy(() -> historyService.getPastSits(1L, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sitswap.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.sitswap.dto.UserStatsSummary;
+import com.example.sitswap.model.DogsitRequest;
+import com.example.sitswap.model.DogsitRequest.RequestStatus;
+import com.example.sitswap.model.User;
+import com.example.sitswap.repository.DogsitRequestRepository;
+import com.example.sitswap.repository.PointsTransactionRepository;
+import com.example.sitswap.repository.UserRepository;
+import com.example.sitswap.repository.UserStatsRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserStatsTests {
+
+    @Autowired
+    private UserStatsService statsService;
+
+    @Autowired
+    private UserStatsReconciler reconciler;
+
+    @Autowired
+    private DogsitRequestService dogsitService;
+
+    @Autowired
+    private DogsitRequestRepository dogsitRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PointsTransactionRepository transactionRepo;
+
+    @Autowired
+    private UserStatsRepository statsRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp(){
+        jdbcTemplate.update("delete from user_stats");
+        transactionRepo.deleteAll();
+        dogsitRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void statsFollowCreateAcceptAndComplete(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 1000));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+        List<Long> ids = new ArrayList<>();
+        for(int i = 0; i < 4; i++){
+            ids.add(dogsitService.createRequest(walk(owner, start.plusDays(i))).getId());
+        }
+        dogsitService.createRequests(owner, List.of(walk(null, start.plusDays(10)), walk(null, start.plusDays(11))));
+        assertThat(statsService.getStats(owner.getId())).isEqualTo(new UserStatsSummary(owner.getId(), 6, 0, 0, 0, 0, 0, 0));
+
+        dogsitService.acceptRequest(ids.get(0), sitter.getId());
+        dogsitService.acceptRequests(List.of(ids.get(1), ids.get(2)), sitter.getId());
+        dogsitService.completeRequest(ids.get(0));
+        dogsitService.completeRequests(List.of(ids.get(1)), owner.getId());
+
+        assertThat(statsService.getStats(owner.getId())).isEqualTo(new UserStatsSummary(owner.getId(), 3, 1, 2, 0, 0, 0, 20));
+        assertThat(statsService.getStats(sitter.getId())).isEqualTo(new UserStatsSummary(sitter.getId(), 0, 0, 0, 1, 2, 20, 0));
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    void reconciliationRewritesDriftedTotals(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 1000));
+        User sitter = userRepo.save(new User("Sitter", "sitter@example.com", "sitter", "hash", 0));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long id = dogsitService.createRequest(walk(owner, start)).getId();
+        dogsitService.acceptRequest(id, sitter.getId());
+        dogsitService.completeRequest(id);
+        UserStatsSummary expected = statsService.getStats(sitter.getId());
+
+        jdbcTemplate.update("update user_stats set completed_sits = 7, points_earned = 0 where user_id = ?", sitter.getId());
+        // A request saved around the service leaves the owner's pending count behind.
+        dogsitRepo.save(new DogsitRequest("Direct", start.plusDays(1), start.plusDays(1).plusHours(1), "Park",
+            owner, null, RequestStatus.PENDING));
+
+        assertThat(reconciler.reconcile()).isEqualTo(2);
+        assertThat(statsService.getStats(sitter.getId())).isEqualTo(expected);
+        assertThat(statsService.getStats(owner.getId())).isEqualTo(new UserStatsSummary(owner.getId(), 1, 0, 1, 0, 0, 0, 10));
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    void insertingAnExistingStatsRowDoesNothing(){
+        User owner = userRepo.save(new User("Owner", "owner@example.com", "owner", "hash", 1000));
+        dogsitService.createRequest(walk(owner, LocalDateTime.of(2030, 1, 1, 9, 0)));
+
+        assertThat(transactionTemplate.<Integer>execute(status -> statsRepo.insertIfMissing(owner.getId()))).isZero();
+        assertThat(transactionTemplate.<Integer>execute(status -> statsRepo.insertIfMissing(owner.getId() + 1))).isEqualTo(1);
+        assertThat(statsService.getStats(owner.getId())).isEqualTo(new UserStatsSummary(owner.getId(), 1, 0, 0, 0, 0, 0, 0));
+    }
+
+    private static DogsitRequest walk(User owner, LocalDateTime start){
+        return new DogsitRequest("Walk", start, start.plusHours(1), "Park", owner, null, RequestStatus.PENDING);
+    }
+}
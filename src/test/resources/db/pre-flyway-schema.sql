@@ -0,0 +1,19 @@
+-- The schema ddl-auto=update created on PostgreSQL from the entities at the baseline commit, before Flyway, with a
+-- few rows in it. UpgradeFromDdlAutoTests migrates it the way an existing production database is migrated.
+
+create table users (points integer not null, id bigint generated by default as identity, email varchar(255), name varchar(255), password varchar(255) not null, username varchar(255) not null unique, primary key (id));
+create table pets (age integer not null, id bigint generated by default as identity, user_id bigint not null, breed varchar(255) not null, description TEXT, energy_level varchar(255), image_url varchar(255), name varchar(255) not null, size varchar(255) not null, special_needs TEXT, primary key (id));
+create table dogsit_request (pet_age integer, accepted_by_id bigint, end_time timestamp(6), id bigint generated by default as identity, owner_id bigint, pet_id bigint, start_time timestamp(6), description varchar(255), location varchar(255), pet_breed varchar(255), pet_description varchar(255), pet_energy_level varchar(255), pet_image_url varchar(255), pet_name varchar(255), pet_size varchar(255), pet_special_needs varchar(255), status varchar(255) check (status in ('PENDING','ACCEPTED','COMPLETED')), primary key (id));
+alter table if exists dogsit_request add foreign key (accepted_by_id) references users;
+alter table if exists dogsit_request add foreign key (owner_id) references users;
+alter table if exists dogsit_request add foreign key (pet_id) references pets;
+alter table if exists pets add foreign key (user_id) references users;
+
+insert into users (id, name, email, username, password, points) values
+    (1, 'Owner', 'owner@example.com', 'owner', 'hash', 90),
+    (2, 'Sitter', 'sitter@example.com', 'sitter', 'hash', 110),
+    (7, 'Late', 'late@example.com', 'late', 'hash', 100);
+insert into pets (id, name, breed, age, size, energy_level, user_id) values (3, 'Rex', 'Beagle', 3, 'medium', 'high', 1);
+insert into dogsit_request (id, description, start_time, end_time, location, pet_id, pet_name, owner_id, accepted_by_id, status) values
+    (4, 'Walk', '2030-01-01 09:00:00', '2030-01-01 10:00:00', 'Park', 3, 'Rex', 1, null, 'PENDING'),
+    (5, 'Sit', '2020-01-01 09:00:00', '2020-01-01 18:00:00', 'Home', 3, 'Rex', 1, 2, 'COMPLETED');